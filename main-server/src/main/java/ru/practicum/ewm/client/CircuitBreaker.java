@@ -0,0 +1,95 @@
+package ru.practicum.ewm.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+@Slf4j
+public class CircuitBreaker {
+    private final CircuitBreakerProperties properties;
+    private final LongSupplier clock;
+    private final AtomicLong rejected = new AtomicLong();
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+    private boolean trialInProgress;
+
+    public CircuitBreaker(CircuitBreakerProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(CircuitBreakerProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (!acquirePermission()) {
+            rejected.incrementAndGet();
+            throw new StatServerUnavailableException("the circuit breaker of the statistic server is open");
+        }
+
+        try {
+            T result = call.get();
+            onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            onFailure();
+            throw e;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private synchronized boolean acquirePermission() {
+        if (!properties.isEnabled() || state == State.CLOSED) return true;
+
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < properties.getOpenDurationMs()) return false;
+
+            state = State.HALF_OPEN;
+            log.info("the circuit breaker of the statistic server is half-open");
+        }
+
+        if (trialInProgress) return false;
+
+        trialInProgress = true;
+        return true;
+    }
+
+    private synchronized void onSuccess() {
+        trialInProgress = false;
+        failures = 0;
+        if (state == State.CLOSED) return;
+
+        state = State.CLOSED;
+        log.info("the circuit breaker of the statistic server is closed");
+    }
+
+    private synchronized void onFailure() {
+        trialInProgress = false;
+        if (!properties.isEnabled()) return;
+
+        failures++;
+        if (state == State.HALF_OPEN || failures >= properties.getFailureThreshold()) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            failures = 0;
+            log.warn("the circuit breaker of the statistic server is open for {} ms", properties.getOpenDurationMs());
+        }
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
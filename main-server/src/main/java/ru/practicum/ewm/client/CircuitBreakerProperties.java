@@ -0,0 +1,14 @@
+package ru.practicum.ewm.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stats-server.breaker")
+public class CircuitBreakerProperties {
+    private boolean enabled = true;
+    private int failureThreshold = 5;
+    private long openDurationMs = 30000;
+}
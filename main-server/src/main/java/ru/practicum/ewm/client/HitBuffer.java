@@ -0,0 +1,186 @@
+package ru.practicum.ewm.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.ewm.client.dto.HitDto;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class HitBuffer {
+    private final HitBufferProperties properties;
+    private final Predicate<List<HitDto>> sender;
+    private final BlockingQueue<HitDto> queue;
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final Path spillFile;
+    private final Object spillLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean stopped;
+    private ScheduledExecutorService flusher;
+
+    public HitBuffer(HitBufferProperties properties, Predicate<List<HitDto>> sender) {
+        this.properties = properties;
+        this.sender = sender;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.spillFile = Paths.get(properties.getSpillFile());
+    }
+
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-hit-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushIntervalMs();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("buffered sending of hits started: batch size={}, flush interval={} ms, overflow={}",
+                properties.getBatchSize(), interval, properties.getOverflow());
+    }
+
+    public void stop() throws InterruptedException {
+        stopped = true;
+        if (flusher == null) return;
+
+        flusher.shutdown();
+        flusher.awaitTermination(properties.getFlushIntervalMs() * 5, TimeUnit.MILLISECONDS);
+        flush();
+        log.info("buffered sending of hits stopped, hits dropped in total={}", dropped.get());
+    }
+
+    public void add(HitDto hit) {
+        if (stopped) {
+            if (!sender.test(List.of(hit))) overflow(List.of(hit));
+            return;
+        }
+
+        if (!queue.offer(hit)) {
+            overflow(List.of(hit));
+            return;
+        }
+
+        if (flusher != null && queue.size() >= properties.getBatchSize() && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false);
+                log.debug("the flush of hits was not scheduled as the buffer is stopping");
+            }
+        }
+    }
+
+    public int getPending() {
+        return queue.size();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    void flush() {
+        flushRequested.set(false);
+
+        List<HitDto> batch = new ArrayList<>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            if (!sender.test(batch)) {
+                requeue(batch);
+                return;
+            }
+            batch = new ArrayList<>(properties.getBatchSize());
+        }
+
+        replaySpilled();
+    }
+
+    /**
+     * A batch that could not be sent is spilled with the SPILL policy. With the DROP policy it is put back to the
+     * buffer to retry with the next flush, so a single failure doesn't lose it: only the hits that don't fit and
+     * the batch of the final flush are dropped.
+     */
+    private void requeue(List<HitDto> batch) {
+        if (stopped || properties.getOverflow() == HitBufferProperties.OverflowPolicy.SPILL) {
+            overflow(batch);
+            return;
+        }
+
+        List<HitDto> rejected = batch.stream()
+                .filter(hit -> !queue.offer(hit))
+                .collect(Collectors.toList());
+
+        log.warn("a batch of {} hits could not be sent, {} hits were put back to the buffer", batch.size(),
+                batch.size() - rejected.size());
+        if (!rejected.isEmpty()) overflow(rejected);
+    }
+
+    private void overflow(List<HitDto> hits) {
+        if (properties.getOverflow() == HitBufferProperties.OverflowPolicy.SPILL && spill(hits)) return;
+
+        log.warn("{} hits were dropped, dropped in total={}", hits.size(), dropped.addAndGet(hits.size()));
+    }
+
+    private boolean spill(List<HitDto> hits) {
+        synchronized (spillLock) {
+            try {
+                if (Files.exists(spillFile) && Files.size(spillFile) >= properties.getSpillMaxBytes()) return false;
+
+                try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (HitDto hit : hits) {
+                        writer.write(mapper.writeValueAsString(hit));
+                        writer.newLine();
+                    }
+                }
+                log.debug("{} hits were spilled to {}", hits.size(), spillFile);
+                return true;
+            } catch (IOException e) {
+                log.error("hits could not be spilled to {}: {}", spillFile, e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    private void replaySpilled() {
+        List<HitDto> spilled = new ArrayList<>();
+        synchronized (spillLock) {
+            if (!Files.exists(spillFile)) return;
+
+            try {
+                for (String line : Files.readAllLines(spillFile, StandardCharsets.UTF_8)) {
+                    if (!line.isBlank()) spilled.add(mapper.readValue(line, HitDto.class));
+                }
+                Files.delete(spillFile);
+            } catch (IOException e) {
+                log.error("spilled hits could not be read from {}: {}", spillFile, e.getMessage());
+                return;
+            }
+        }
+
+        for (int from = 0; from < spilled.size(); from += properties.getBatchSize()) {
+            List<HitDto> batch = spilled.subList(from, Math.min(from + properties.getBatchSize(), spilled.size()));
+            if (!sender.test(batch)) {
+                overflow(new ArrayList<>(spilled.subList(from, spilled.size())));
+                return;
+            }
+        }
+        log.info("{} spilled hits were sent to the statistic server", spilled.size());
+    }
+}
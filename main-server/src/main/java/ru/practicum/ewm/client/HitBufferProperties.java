@@ -0,0 +1,23 @@
+package ru.practicum.ewm.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stats-server.hits")
+public class HitBufferProperties {
+    private boolean buffered = true;
+    private int capacity = 10000;
+    private int batchSize = 100;
+    private long flushIntervalMs = 1000;
+    private OverflowPolicy overflow = OverflowPolicy.DROP;
+    private String spillFile = "stats-hits.ndjson";
+    private long spillMaxBytes = 10 * 1024 * 1024;
+
+    public enum OverflowPolicy {
+        DROP,
+        SPILL
+    }
+}
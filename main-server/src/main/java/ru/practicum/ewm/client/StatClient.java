@@ -1,13 +1,10 @@
 package ru.practicum.ewm.client;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.web.client.RestTemplate;
-import ru.practicum.ewm.client.dto.ViewStatsDto;
 
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 public class StatClient {
@@ -25,16 +22,10 @@ public class StatClient {
         return response.getStatusCode().is2xxSuccessful();
     }
 
-    protected List<ViewStatsDto> get(String path, Map<String, Object> parameters) {
-        HttpEntity<List<ViewStatsDto>> requestEntity = new HttpEntity<>(getHeaders());
-
-        ResponseEntity<List<ViewStatsDto>> response =
-                rest.exchange(
-                        path, HttpMethod.GET, requestEntity,
-                        new ParameterizedTypeReference<>() {
-                        }, parameters);
-
-        log.info("the response to the GET request from the statistic server has status code={}",
+    protected <T, R> R post(String path, T body, Class<R> responseType) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, getHeaders());
+        ResponseEntity<R> response = rest.exchange(path, HttpMethod.POST, requestEntity, responseType);
+        log.info("the response to the POST request from the statistic server has status code={}",
                 response.getStatusCodeValue());
         return response.getBody();
     }
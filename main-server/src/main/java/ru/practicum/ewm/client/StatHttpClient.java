@@ -0,0 +1,77 @@
+package ru.practicum.ewm.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Slf4j
+public class StatHttpClient {
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    public StatHttpClient(StatHttpClientProperties properties, int connectTimeoutMs, int readTimeoutMs) {
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity(properties.getValidateAfterInactivityMs());
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(connectTimeoutMs)
+                        .setSocketTimeout(readTimeoutMs)
+                        .setConnectionRequestTimeout(properties.getConnectionRequestTimeoutMs())
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response,
+                            context);
+                    return keepAlive > 0 ? Math.min(keepAlive, properties.getKeepAliveMs())
+                            : properties.getKeepAliveMs();
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleEvictionMs(), TimeUnit.MILLISECONDS)
+                .build();
+        log.info("pooled http client for statistic server created: max total={}, max per route={}",
+                properties.getMaxTotal(), properties.getMaxPerRoute());
+    }
+
+    public HttpComponentsClientHttpRequestFactory getRequestFactory() {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        registerGauge(meterRegistry, "leased", PoolStats::getLeased, "connections to the statistic server in use");
+        registerGauge(meterRegistry, "available", PoolStats::getAvailable,
+                "idle connections to the statistic server kept alive");
+        registerGauge(meterRegistry, "pending", PoolStats::getPending,
+                "requests waiting for a connection to the statistic server");
+        registerGauge(meterRegistry, "max", PoolStats::getMax, "maximum connections to the statistic server");
+    }
+
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    private void registerGauge(MeterRegistry meterRegistry, String state, Function<PoolStats, Integer> value,
+                               String description) {
+        Gauge.builder("stats.client.pool.connections", this, client -> value.apply(client.getPoolStats()))
+                .tag("state", state)
+                .description(description)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.ewm.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stats-server.http")
+public class StatHttpClientProperties {
+    private int maxTotal = 50;
+    private int maxPerRoute = 50;
+    private int connectionRequestTimeoutMs = 500;
+    private long keepAliveMs = 30000;
+    private long idleEvictionMs = 30000;
+    private int validateAfterInactivityMs = 2000;
+}
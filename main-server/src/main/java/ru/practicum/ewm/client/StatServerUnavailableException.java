@@ -0,0 +1,10 @@
+package ru.practicum.ewm.client;
+
+import org.springframework.web.client.RestClientException;
+
+public class StatServerUnavailableException extends RestClientException {
+
+    public StatServerUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,164 @@
+package ru.practicum.ewm.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+@Slf4j
+public class ViewCache {
+    private final ViewCacheProperties properties;
+    private final Function<Collection<Long>, Map<Long, Long>> loader;
+    private final LongSupplier clock;
+    private final Map<Long, Entry> views;
+    private final AtomicLong fallbacks = new AtomicLong();
+    private ScheduledExecutorService refresher;
+
+    public ViewCache(ViewCacheProperties properties, Function<Collection<Long>, Map<Long, Long>> loader) {
+        this(properties, loader, System::currentTimeMillis);
+    }
+
+    ViewCache(ViewCacheProperties properties, Function<Collection<Long>, Map<Long, Long>> loader, LongSupplier clock) {
+        this.properties = properties;
+        this.loader = loader;
+        this.clock = clock;
+        views = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > properties.getMaxEntries();
+            }
+        };
+    }
+
+    public void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-views-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getRefreshIntervalMs();
+        refresher.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("caching of views started: refresh interval={} ms, max entries={}, expire after read={} ms",
+                interval, properties.getMaxEntries(), properties.getExpireAfterReadMs());
+    }
+
+    public void stop() throws InterruptedException {
+        if (refresher == null) return;
+
+        refresher.shutdownNow();
+        refresher.awaitTermination(properties.getRefreshIntervalMs(), TimeUnit.MILLISECONDS);
+        log.info("caching of views stopped");
+    }
+
+    public Map<Long, Long> get(Collection<Long> eventIds) {
+        Map<Long, Long> found = new HashMap<>();
+        List<Long> missed = new ArrayList<>();
+
+        long now = clock.getAsLong();
+
+        synchronized (this) {
+            for (Long eventId : eventIds) {
+                Entry cached = views.get(eventId);
+                if (cached == null) {
+                    missed.add(eventId);
+                } else {
+                    cached.readAt = now;
+                    found.put(eventId, cached.hits);
+                }
+            }
+        }
+
+        if (missed.isEmpty()) return found;
+
+        log.debug("views of {} events were not found in the cache", missed.size());
+        Map<Long, Long> loaded;
+        try {
+            loaded = loader.apply(missed);
+        } catch (RuntimeException e) {
+            log.error("views of {} events could not be loaded, zero views are returned: {}", missed.size(),
+                    e.getMessage());
+            fallbacks.incrementAndGet();
+            missed.forEach(eventId -> found.put(eventId, 0L));
+            return found;
+        }
+
+        synchronized (this) {
+            for (Long eventId : missed) {
+                long hits = loaded.getOrDefault(eventId, 0L);
+                found.put(eventId, hits);
+                views.putIfAbsent(eventId, new Entry(hits, now));
+            }
+        }
+
+        return found;
+    }
+
+    public synchronized void increment(long eventId) {
+        if (!properties.isCountHits()) return;
+
+        Entry cached = views.get(eventId);
+        if (cached != null) cached.hits++;
+    }
+
+    public synchronized int getSize() {
+        return views.size();
+    }
+
+    public long getFallbacks() {
+        return fallbacks.get();
+    }
+
+    void refresh() {
+        long expireBefore = clock.getAsLong() - properties.getExpireAfterReadMs();
+        Map<Long, Entry> cached;
+        int expired;
+
+        synchronized (this) {
+            int size = views.size();
+            views.values().removeIf(entry -> entry.readAt < expireBefore);
+            expired = size - views.size();
+            cached = new LinkedHashMap<>(views);
+        }
+        List<Long> eventIds = new ArrayList<>(cached.keySet());
+        if (expired > 0) log.debug("views of {} events have expired as they were not read recently", expired);
+
+        for (int from = 0; from < eventIds.size(); from += properties.getRefreshBatchSize()) {
+            List<Long> batch = eventIds.subList(from, Math.min(from + properties.getRefreshBatchSize(),
+                    eventIds.size()));
+            Map<Long, Long> loaded;
+            try {
+                loaded = loader.apply(batch);
+            } catch (RuntimeException e) {
+                log.error("views of {} events could not be refreshed, the cached values are kept: {}", batch.size(),
+                        e.getMessage());
+                return;
+            }
+
+            synchronized (this) {
+                batch.forEach(eventId -> cached.get(eventId).hits = loaded.getOrDefault(eventId, 0L));
+            }
+        }
+
+        log.debug("views have been refreshed for {} events", eventIds.size());
+    }
+
+    private static class Entry {
+        private long hits;
+        private long readAt;
+
+        private Entry(long hits, long readAt) {
+            this.hits = hits;
+            this.readAt = readAt;
+        }
+    }
+}
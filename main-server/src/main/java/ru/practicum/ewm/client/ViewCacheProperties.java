@@ -0,0 +1,17 @@
+package ru.practicum.ewm.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stats-server.views")
+public class ViewCacheProperties {
+    private boolean cached = true;
+    private int maxEntries = 100000;
+    private int refreshBatchSize = 100;
+    private long refreshIntervalMs = 30000;
+    private long expireAfterReadMs = 600000;
+    private boolean countHits = false;
+}
@@ -5,12 +5,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class ViewStatsDto {
-    private String app;
-    private String uri;
-    private long hits;
+public class ViewQueryResultDto {
+    private Map<Long, Long> ids;
 }
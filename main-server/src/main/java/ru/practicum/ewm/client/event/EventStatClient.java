@@ -1,84 +1,232 @@
 package ru.practicum.ewm.client.event;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.ewm.client.CircuitBreaker;
+import ru.practicum.ewm.client.CircuitBreakerProperties;
+import ru.practicum.ewm.client.HitBuffer;
+import ru.practicum.ewm.client.HitBufferProperties;
 import ru.practicum.ewm.client.HitMapper;
 import ru.practicum.ewm.client.StatClient;
+import ru.practicum.ewm.client.StatHttpClient;
+import ru.practicum.ewm.client.StatHttpClientProperties;
+import ru.practicum.ewm.client.ViewCache;
+import ru.practicum.ewm.client.ViewCacheProperties;
 import ru.practicum.ewm.client.dto.HitDto;
-import ru.practicum.ewm.client.dto.ViewStatsDto;
+import ru.practicum.ewm.client.dto.ViewQueryDto;
+import ru.practicum.ewm.client.dto.ViewQueryResultDto;
 import ru.practicum.ewm.event.model.Event;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.servlet.http.HttpServletRequest;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class EventStatClient extends StatClient {
     private static final String API_POSTFIX_POST = "/hit";
-    private static final String API_POSTFIX_GET = "/stats?start={start}&end={end}&unique={unique}";
+    private static final String API_POSTFIX_POST_BATCH = "/hits";
+    private static final String API_POSTFIX_QUERY = "/stats/query";
+    private static final String APP = "ewm-main-service";
+    private static final String EVENT_URI_PREFIX = "http://localhost:8080/events/";
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern EVENT_URI = Pattern.compile("/events/(\\d+)$");
+
+    private final StatHttpClient httpClient;
+    private final HitBuffer hitBuffer;
+    private final ViewCache viewCache;
+    private final CircuitBreaker circuitBreaker;
+    private final LocalDateTime viewsStart;
+    private final AtomicLong viewFallbacks = new AtomicLong();
+    private final AtomicLong hitFallbacks = new AtomicLong();
+    private final Set<Long> viewedEventIds = ConcurrentHashMap.newKeySet();
 
     @Autowired
-    public EventStatClient(@Value("${stats-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public EventStatClient(@Value("${stats-server.url}") String serverUrl,
+                           @Value("${stats-server.connect-timeout-ms:1000}") int connectTimeoutMs,
+                           @Value("${stats-server.read-timeout-ms:2000}") int readTimeoutMs,
+                           RestTemplateBuilder builder, StatHttpClientProperties httpClientProperties,
+                           HitBufferProperties hitBufferProperties, ViewCacheProperties viewCacheProperties,
+                           CircuitBreakerProperties circuitBreakerProperties, MeterRegistry meterRegistry,
+                           @Value("${stats-server.views.start:2000-01-01 00:00:00}") String viewsStart) {
+        this(serverUrl, builder, new StatHttpClient(httpClientProperties, connectTimeoutMs, readTimeoutMs),
+                hitBufferProperties, viewCacheProperties, circuitBreakerProperties, meterRegistry,
+                LocalDateTime.parse(viewsStart, DATE_TIME));
+    }
+
+    /**
+     * Views of every event are counted from {@code viewsStart}, whichever path asks for them, so the cached, the
+     * uncached and the synchronized counts match. It must not be later than the creation of the first event.
+     */
+    private EventStatClient(String serverUrl, RestTemplateBuilder builder, StatHttpClient httpClient,
+                            HitBufferProperties hitBufferProperties, ViewCacheProperties viewCacheProperties,
+                            CircuitBreakerProperties circuitBreakerProperties, MeterRegistry meterRegistry,
+                            LocalDateTime viewsStart) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .requestFactory(httpClient::getRequestFactory)
                 .build()
         );
+        this.httpClient = httpClient;
+        this.viewsStart = viewsStart;
+        circuitBreaker = new CircuitBreaker(circuitBreakerProperties);
+        hitBuffer = hitBufferProperties.isBuffered() ? new HitBuffer(hitBufferProperties, this::sendViewsToStatsServer)
+                : null;
+        viewCache = viewCacheProperties.isCached() ? new ViewCache(viewCacheProperties,
+                eventIds -> getStatisticOnViews(eventIds, viewsStart, true)) : null;
+        registerMetrics(meterRegistry);
+    }
+
+    @PostConstruct
+    public void startHitBuffer() {
+        if (hitBuffer != null) hitBuffer.start();
+        if (viewCache != null) viewCache.start();
+    }
+
+    @PreDestroy
+    public void stopHitBuffer() throws InterruptedException, IOException {
+        if (hitBuffer != null) hitBuffer.stop();
+        if (viewCache != null) viewCache.stop();
+        httpClient.close();
     }
 
     public Map<Long, Long> getStatisticOnViews(List<Event> events, boolean unique) {
-        return getViews(events, unique).stream()
-                .filter(viewStatsDto -> viewStatsDto.getApp().equalsIgnoreCase("ewm-main-service"))
-                .collect(Collectors.toMap(viewStatsDto -> getEventId(viewStatsDto.getUri()), ViewStatsDto::getHits));
+        return getStatisticOnViewsByIds(events.stream().map(Event::getId).collect(Collectors.toList()), unique);
     }
 
-    public void sendViewToStatsServer(HttpServletRequest request) {
-        HitDto body = HitMapper.requestToHit(request);
-        boolean isSuccessful = post(API_POSTFIX_POST, body);
-        log.info("viewing information was sent to statistic server:\nuri={}, \n\"the request {}", body.getUri(),
-                isSuccessful ? "was sent successfully" : "returned with an error");
+    public Map<Long, Long> getStatisticOnViewsByIds(Collection<Long> eventIds, boolean unique) {
+        if (viewCache != null && unique) return viewCache.get(eventIds);
+
+        return getStatisticOnViewsOrZero(eventIds, viewsStart, unique);
+    }
+
+    public Map<Long, Long> loadStatisticOnViews(Collection<Long> eventIds) {
+        return getStatisticOnViews(eventIds, viewsStart, true);
     }
 
-    private List<ViewStatsDto> getViews(List<Event> events, boolean unique) {
-        String[] urisParameters = events.stream()
-                .map(this::mapEventToUriParameter)
-                .toArray(String[]::new);
+    private Map<Long, Long> getStatisticOnViewsOrZero(Collection<Long> eventIds, LocalDateTime start,
+                                                      boolean unique) {
+        try {
+            return getStatisticOnViews(eventIds, start, unique);
+        } catch (RestClientException e) {
+            viewFallbacks.incrementAndGet();
+            log.error("views of {} events could not be loaded, zero views are returned: {}", eventIds.size(),
+                    e.getMessage());
+            return Map.of();
+        }
+    }
 
-        LocalDateTime start = events.stream()
-                .map(Event::getCreatedOn)
-                .min(LocalDateTime::compareTo)
-                .orElseThrow();
+    private Map<Long, Long> getStatisticOnViews(Collection<Long> eventIds, LocalDateTime start, boolean unique) {
+        if (eventIds.isEmpty()) return Map.of();
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        ViewQueryResultDto result = circuitBreaker.execute(() -> post(API_POSTFIX_QUERY, ViewQueryDto.builder()
+                .start(start)
+                .end(LocalDateTime.now())
+                .app(APP)
+                .uriPrefix(EVENT_URI_PREFIX)
+                .ids(List.copyOf(eventIds))
+                .unique(unique)
+                .build(), ViewQueryResultDto.class));
 
-        Map<String, Object> parameters = Map.of(
-                "start", URLEncoder.encode(start.format(formatter), StandardCharsets.UTF_8),
-                "end", URLEncoder.encode(LocalDateTime.now().format(formatter), StandardCharsets.UTF_8),
-                "unique", unique
-        );
+        return result == null || result.getIds() == null ? Map.of() : result.getIds();
+    }
 
-        String finalUri = API_POSTFIX_GET + String.join("", urisParameters);
+    public void sendViewToStatsServer(HttpServletRequest request) {
+        HitDto body = HitMapper.requestToHit(request);
+        countView(body.getUri());
+        if (hitBuffer != null) {
+            hitBuffer.add(body);
+            return;
+        }
 
-        return get(finalUri, parameters);
+        try {
+            boolean isSuccessful = circuitBreaker.execute(() -> post(API_POSTFIX_POST, body));
+            log.info("viewing information was sent to statistic server:\nuri={}, \n\"the request {}", body.getUri(),
+                    isSuccessful ? "was sent successfully" : "returned with an error");
+        } catch (RestClientException e) {
+            hitFallbacks.incrementAndGet();
+            log.error("viewing information could not be sent to statistic server: uri={}, {}", body.getUri(),
+                    e.getMessage());
+        }
     }
 
-    private String mapEventToUriParameter(Event event) {
-        return "&uris=http://localhost:8080/events/" + event.getId();
+    private boolean sendViewsToStatsServer(List<HitDto> hits) {
+        try {
+            boolean isSuccessful = circuitBreaker.execute(() -> post(API_POSTFIX_POST_BATCH, hits));
+            log.info("a batch of {} hits was sent to statistic server, the request {}", hits.size(),
+                    isSuccessful ? "was sent successfully" : "returned with an error");
+            return isSuccessful;
+        } catch (RestClientException e) {
+            log.error("a batch of {} hits could not be sent to statistic server: {}", hits.size(), e.getMessage());
+            return false;
+        }
     }
 
-    private long getEventId(String uri) {
-        String[] uriParts = uri.split("/");
-        return Long.parseLong(uriParts[uriParts.length - 1]);
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        httpClient.registerMetrics(meterRegistry);
+        Gauge.builder("stats.client.breaker.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("state of the statistic server circuit breaker: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        FunctionCounter.builder("stats.client.breaker.rejected", circuitBreaker, CircuitBreaker::getRejected)
+                .description("calls to the statistic server rejected by the open circuit breaker")
+                .register(meterRegistry);
+        FunctionCounter.builder("stats.client.fallbacks", this,
+                        client -> client.viewFallbacks.get() + (viewCache == null ? 0 : viewCache.getFallbacks()))
+                .tag("operation", "views")
+                .description("view requests answered with zero views because the statistic server failed")
+                .register(meterRegistry);
+        FunctionCounter.builder("stats.client.fallbacks", this,
+                        client -> client.hitFallbacks.get() + (hitBuffer == null ? 0 : hitBuffer.getDropped()))
+                .tag("operation", "hits")
+                .description("hits that could not be sent to the statistic server")
+                .register(meterRegistry);
+        if (hitBuffer != null)
+            Gauge.builder("stats.client.hits.pending", hitBuffer, HitBuffer::getPending)
+                    .description("buffered hits waiting to be sent to the statistic server")
+                    .register(meterRegistry);
+    }
+
+    /**
+     * Returns the ids of the events viewed since the previous call, so views are only synchronized for events
+     * that got new hits.
+     */
+    public Set<Long> drainViewedEventIds() {
+        Set<Long> drained = new HashSet<>();
+        for (Iterator<Long> iterator = viewedEventIds.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    private void countView(String uri) {
+        Matcher matcher = EVENT_URI.matcher(uri);
+        if (!matcher.find()) return;
+
+        long eventId = Long.parseLong(matcher.group(1));
+        viewedEventIds.add(eventId);
+        if (viewCache != null) viewCache.increment(eventId);
     }
 }
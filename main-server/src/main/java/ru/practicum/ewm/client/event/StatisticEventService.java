@@ -2,7 +2,6 @@ package ru.practicum.ewm.client.event;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import ru.practicum.ewm.event.enums.Status;
 import ru.practicum.ewm.event.model.Event;
 import ru.practicum.ewm.event.model.dto.EventFullOutDto;
 import ru.practicum.ewm.event.model.dto.EventOutDto;
@@ -13,7 +12,6 @@ import ru.practicum.ewm.request.repository.RequestRepository;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -28,25 +26,45 @@ public abstract class StatisticEventService {
             return new ArrayList<>();
         }
 
-        Map<Long, Long> eventViews = eventStatClient.getStatisticOnViews(events, true);
-        log.debug("found statistic on events, count={}", eventViews.size());
+        return addConfirmedRequestsAndViews(events, getViews(events), isFull);
+    }
 
-        AtomicLong hits = new AtomicLong();
+    protected List<EventOutDto> addConfirmedRequestsAndViews(List<Event> events, Map<Long, Long> eventViews,
+                                                             boolean isFull) {
         return events.stream()
-                .peek(event -> hits.set(eventViews.get(event.getId()) == null ? 0 : eventViews.get(event.getId())))
-                .map(event -> isFull ? mapToEventFull(event, hits.get()) : mapToEventShort(event, hits.get()))
+                .map(event -> isFull ? mapToEventFull(event, eventViews.getOrDefault(event.getId(), 0L))
+                        : mapToEventShort(event, eventViews.getOrDefault(event.getId(), 0L)))
                 .collect(Collectors.toList());
     }
 
+    protected Map<Long, Long> getViews(List<Event> events) {
+        if (events.isEmpty()) return Map.of();
+
+        Map<Long, Long> eventViews = eventStatClient.getStatisticOnViews(events, true);
+        log.debug("found statistic on events, count={}", eventViews.size());
+        return eventViews;
+    }
+
+    protected List<EventShortOutDto> addViews(List<EventShortOutDto> events) {
+        if (events.isEmpty()) {
+            log.info("an empty list of events has been passed");
+            return events;
+        }
+
+        Map<Long, Long> eventViews = eventStatClient.getStatisticOnViewsByIds(events.stream()
+                .map(EventShortOutDto::getId)
+                .collect(Collectors.toList()), true);
+        log.debug("found statistic on events, count={}", eventViews.size());
+
+        events.forEach(event -> event.setViews(eventViews.getOrDefault(event.getId(), 0L)));
+        return events;
+    }
+
     private EventShortOutDto mapToEventShort(Event event, long views) {
-        return EventMapper.toEventShort(event, event.isRequestModeration() ?
-                (int) requestRepository.countByEventIdAndStatus(event.getId(), Status.CONFIRMED)
-                : (int) requestRepository.countByEventId(event.getId()), views);
+        return EventMapper.toEventShort(event, event.getConfirmedRequests(), views);
     }
 
     private EventFullOutDto mapToEventFull(Event event, long views) {
-        return EventMapper.toEventFull(event, event.isRequestModeration() ?
-                (int) requestRepository.countByEventIdAndStatus(event.getId(), Status.CONFIRMED)
-                : (int) requestRepository.countByEventId(event.getId()), views);
+        return EventMapper.toEventFull(event, event.getConfirmedRequests(), views);
     }
 }
@@ -2,13 +2,21 @@ package ru.practicum.ewm.compilation.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import ru.practicum.ewm.compilation.model.Compilation;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CompilationRepository extends JpaRepository<Compilation, Long>, QuerydslPredicateExecutor<Compilation> {
 
     Slice<Compilation> findAllByPinnedFalse(Pageable pageable);
 
     Slice<Compilation> findAllByPinnedTrue(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"events", "events.category", "events.initiator"})
+    List<Compilation> findDistinctByIdIn(Collection<Long> ids, Sort sort);
 }
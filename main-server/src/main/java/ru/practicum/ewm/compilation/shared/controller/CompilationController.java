@@ -4,7 +4,9 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.compilation.model.dto.CompilationOutDto;
 import ru.practicum.ewm.compilation.shared.service.CompilationService;
+import ru.practicum.ewm.util.Cursor;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
@@ -27,8 +29,16 @@ public class CompilationController {
                                                        "equal to 0") int from,
                                                    @RequestParam(value = "size", defaultValue = "10")
                                                    @Min(value = 1, message = "The min allowed value for the size is 1")
-                                                       int size) {
-        return compilationService.getCompilations(pinned, from, size);
+                                                       int size,
+                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                   HttpServletResponse response) {
+        List<CompilationOutDto> compilations = compilationService.getCompilations(pinned, from, size, cursor);
+
+        if (compilations.size() == size)
+            response.setHeader(Cursor.NEXT_CURSOR_HEADER,
+                    Cursor.of(compilations.get(compilations.size() - 1).getId()).encode());
+
+        return compilations;
     }
 
     @GetMapping("/{compId}")
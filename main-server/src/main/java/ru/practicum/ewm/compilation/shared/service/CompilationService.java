@@ -6,7 +6,7 @@ import java.util.List;
 
 public interface CompilationService {
 
-    List<CompilationOutDto> getCompilations(Boolean pinned, int from, int size);
+    List<CompilationOutDto> getCompilations(Boolean pinned, int from, int size, String cursor);
 
     CompilationOutDto getCompilationById(long compilationId);
 }
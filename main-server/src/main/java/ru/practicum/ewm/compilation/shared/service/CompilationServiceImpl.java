@@ -1,20 +1,26 @@
 package ru.practicum.ewm.compilation.shared.service;
 
+import com.querydsl.core.types.dsl.BooleanExpression;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.ewm.client.event.EventStatClient;
 import ru.practicum.ewm.client.event.StatisticEventService;
 import ru.practicum.ewm.compilation.model.Compilation;
+import ru.practicum.ewm.compilation.model.QCompilation;
 import ru.practicum.ewm.compilation.model.dto.CompilationOutDto;
 import ru.practicum.ewm.compilation.model.mapper.CompilationMapper;
 import ru.practicum.ewm.compilation.repository.CompilationRepository;
 import ru.practicum.ewm.error.handler.exception.CompilationNotFoundException;
 import ru.practicum.ewm.event.model.dto.EventShortOutDto;
 import ru.practicum.ewm.request.repository.RequestRepository;
+import ru.practicum.ewm.util.Cursor;
 import ru.practicum.ewm.util.Pagination;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,8 +35,17 @@ public class CompilationServiceImpl extends StatisticEventService implements Com
     }
 
     @Override
-    public List<CompilationOutDto> getCompilations(Boolean pinned, int from, int size) {
-        Pageable pageable = Pagination.of(from, size);
+    public List<CompilationOutDto> getCompilations(Boolean pinned, int from, int size, String cursor) {
+        if (cursor != null) {
+            QCompilation compilation = QCompilation.compilation;
+            BooleanExpression condition = compilation.id.gt(Cursor.decode(cursor).getId());
+            if (pinned != null) condition = condition.and(compilation.pinned.eq(pinned));
+
+            return mapToCompilationOut(compilationRepository.findAll(condition, Pagination.of(0, size,
+                    Sort.by("id"))).getContent());
+        }
+
+        Pageable pageable = Pagination.of(from, size, Sort.by("id"));
 
         return mapToCompilationOut(pinned == null ? compilationRepository.findAll(pageable).getContent()
                 : pinned ? compilationRepository.findAllByPinnedTrue(pageable).getContent()
@@ -49,10 +64,22 @@ public class CompilationServiceImpl extends StatisticEventService implements Com
                 .collect(Collectors.toList()));
     }
 
-    private List<CompilationOutDto> mapToCompilationOut(List<Compilation> compilations) {
+    private List<CompilationOutDto> mapToCompilationOut(List<Compilation> page) {
+        if (page.isEmpty()) return new ArrayList<>();
+
+        List<Long> ids = page.stream()
+                .map(Compilation::getId)
+                .collect(Collectors.toList());
+
+        List<Compilation> compilations = compilationRepository.findDistinctByIdIn(ids, Sort.by("id"));
+        Map<Long, Long> views = getViews(compilations.stream()
+                .flatMap(compilation -> compilation.getEvents().stream())
+                .distinct()
+                .collect(Collectors.toList()));
+
         return compilations.stream()
                 .map(compilation -> CompilationMapper.toCompilationOut(compilation,
-                        addConfirmedRequestsAndViews(compilation.getEvents(), false).stream()
+                        addConfirmedRequestsAndViews(compilation.getEvents(), views, false).stream()
                                 .map(eventOutDto -> (EventShortOutDto) eventOutDto)
                                 .collect(Collectors.toList())))
                 .collect(Collectors.toList());
@@ -0,0 +1,61 @@
+package ru.practicum.ewm.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.ewm.event.enums.Status;
+import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.request.repository.RequestRepository;
+
+import java.util.List;
+
+/**
+ * Repairs confirmed_requests counters that have drifted from request_event. Each event is repaired in its own
+ * transaction that locks the event row before counting the requests: a confirmation or a cancellation changes the
+ * counter in the same transaction as the request, so the lock waits for it and the count sees its result instead of
+ * writing an older value back.
+ */
+@Component
+@Slf4j
+public class ConfirmedRequestsReconciler {
+    private final EventRepository eventRepository;
+    private final RequestRepository requestRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ConfirmedRequestsReconciler(EventRepository eventRepository, RequestRepository requestRepository,
+                                       PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.requestRepository = requestRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${events.confirmed-requests.repair-interval-ms:3600000}",
+            fixedDelayString = "${events.confirmed-requests.repair-interval-ms:3600000}")
+    public void reconcile() {
+        List<Long> eventIds = eventRepository.findEventIdsWithDriftedConfirmedRequests();
+        int repaired = 0;
+        for (Long eventId : eventIds) {
+            if (repair(eventId)) repaired++;
+        }
+
+        if (repaired > 0) log.warn("confirmed requests counter has been repaired for {} events", repaired);
+        else log.debug("confirmed requests counters are consistent");
+    }
+
+    public boolean repair(long eventId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> eventRepository.lockConfirmedRequests(eventId)
+                .map(counted -> {
+                    int confirmed = (int) requestRepository.countByEventIdAndStatus(eventId, Status.CONFIRMED);
+                    if (confirmed == counted) return false;
+
+                    log.debug("confirmed requests counter of the event id={} is {} instead of {}", eventId, counted,
+                            confirmed);
+                    return eventRepository.setConfirmedRequests(eventId, confirmed) > 0;
+                })
+                .orElse(false)));
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.ewm.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import ru.practicum.ewm.client.event.EventStatClient;
+import ru.practicum.ewm.event.enums.State;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.model.EventViews;
+import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.repository.EventViewsRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@code event_views} snapshot used to sort events by views. The first run synchronizes every published
+ * event, the later ones only the events viewed since the previous two runs: the hits of the last run may still be
+ * buffered on their way to the statistic server, so they are loaded once more by the next run.
+ */
+@Component
+@Slf4j
+public class EventViewsSynchronizer {
+    private final EventRepository eventRepository;
+    private final EventViewsRepository eventViewsRepository;
+    private final EventStatClient eventStatClient;
+    private final int batchSize;
+    private boolean synchronizedAll;
+    private Set<Long> previouslyViewed = new HashSet<>();
+
+    @Autowired
+    public EventViewsSynchronizer(EventRepository eventRepository, EventViewsRepository eventViewsRepository,
+                                  EventStatClient eventStatClient,
+                                  @Value("${events.views.sync-batch-size:100}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.eventViewsRepository = eventViewsRepository;
+        this.eventStatClient = eventStatClient;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${events.views.sync-interval-ms:60000}",
+            fixedDelayString = "${events.views.sync-interval-ms:60000}")
+    public synchronized void synchronize() {
+        if (synchronizedAll) {
+            synchronizeViewed();
+            return;
+        }
+
+        Pageable pageable = PageRequest.of(0, batchSize, Sort.by("id"));
+        Slice<Event> events;
+        int count = 0;
+        eventStatClient.drainViewedEventIds();
+
+        try {
+            do {
+                events = eventRepository.findAllByState(State.PUBLISHED, pageable);
+                count += synchronize(events.getContent().stream()
+                        .map(Event::getId)
+                        .collect(Collectors.toList()));
+                pageable = events.nextPageable();
+            } while (events.hasNext());
+        } catch (RestClientException e) {
+            log.error("event views could not be synchronized with statistic server: {}", e.getMessage());
+            return;
+        }
+
+        synchronizedAll = true;
+        log.debug("views have been synchronized for all {} published events", count);
+    }
+
+    private void synchronizeViewed() {
+        Set<Long> viewed = eventStatClient.drainViewedEventIds();
+        List<Long> eventIds = new ArrayList<>(previouslyViewed);
+        viewed.stream()
+                .filter(eventId -> !previouslyViewed.contains(eventId))
+                .forEach(eventIds::add);
+        int count = 0;
+
+        try {
+            for (int from = 0; from < eventIds.size(); from += batchSize) {
+                count += synchronize(eventRepository.findIdsByIdInAndState(eventIds.subList(from,
+                        Math.min(from + batchSize, eventIds.size())), State.PUBLISHED));
+            }
+        } catch (RestClientException e) {
+            log.error("event views could not be synchronized with statistic server: {}", e.getMessage());
+            previouslyViewed = new HashSet<>(eventIds);
+            return;
+        }
+
+        previouslyViewed = viewed;
+        log.debug("views have been synchronized for {} recently viewed events", count);
+    }
+
+    private int synchronize(List<Long> eventIds) {
+        if (eventIds.isEmpty()) return 0;
+
+        Map<Long, Long> views = eventStatClient.loadStatisticOnViews(eventIds);
+        List<EventViews> eventViews = eventIds.stream()
+                .map(eventId -> new EventViews(eventId, views.getOrDefault(eventId, 0L)))
+                .collect(Collectors.toList());
+
+        return eventViewsRepository.saveAll(eventViews).size();
+    }
+}
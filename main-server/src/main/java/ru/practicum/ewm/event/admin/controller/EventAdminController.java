@@ -5,7 +5,9 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.event.admin.service.EventAdminService;
 import ru.practicum.ewm.event.model.dto.*;
+import ru.practicum.ewm.util.Cursor;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
@@ -34,8 +36,16 @@ public class EventAdminController {
                                                int from,
                                        @RequestParam(value = "size", defaultValue = "10")
                                            @Min(value = 1, message = "The min allowed value for the size is 1")
-                                               int size) {
-        return eventService.getEvents(users, states, categories, rangeStart, rangeEnd, from, size);
+                                               int size,
+                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                       HttpServletResponse response) {
+        List<EventOutDto> events = eventService.getEvents(users, states, categories, rangeStart, rangeEnd, from,
+                size, cursor);
+
+        if (events.size() == size)
+            response.setHeader(Cursor.NEXT_CURSOR_HEADER, Cursor.of(events.get(events.size() - 1).getId()).encode());
+
+        return events;
     }
 
     @PutMapping("/{eventId}")
@@ -7,7 +7,7 @@ import java.util.List;
 public interface EventAdminService {
 
     List<EventOutDto> getEvents(int[] users, String[] states, int[] categories, String rangeStart,
-                                String rangeEnd, int from, int size);
+                                String rangeEnd, int from, int size, String cursor);
 
     EventFullOutDto updateEvent(long eventId, EventAdminChangedDto eventAdminChangedDto);
 
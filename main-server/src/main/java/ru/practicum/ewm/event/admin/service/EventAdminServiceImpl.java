@@ -4,6 +4,7 @@ import com.querydsl.core.types.dsl.BooleanExpression;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.ewm.category.repository.CategoryRepository;
 import ru.practicum.ewm.client.event.EventStatClient;
@@ -18,7 +19,10 @@ import ru.practicum.ewm.event.model.mapper.CommentMapper;
 import ru.practicum.ewm.event.model.mapper.EventMapper;
 import ru.practicum.ewm.event.repository.CommentRepository;
 import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.shared.service.EventSearchCache;
+import ru.practicum.ewm.event.shared.service.EventSearchIndex;
 import ru.practicum.ewm.request.repository.RequestRepository;
+import ru.practicum.ewm.util.Cursor;
 import ru.practicum.ewm.util.Pagination;
 
 import java.io.UnsupportedEncodingException;
@@ -34,19 +38,24 @@ import java.util.stream.Collectors;
 public class EventAdminServiceImpl extends EventMapperService implements EventAdminService {
     private final EventRepository eventRepository;
     private final CategoryRepository categoryRepository;
+    private final EventSearchCache eventSearchCache;
+    private final EventSearchIndex eventSearchIndex;
 
     @Autowired
     public EventAdminServiceImpl(EventStatClient eventStatClient, RequestRepository requestRepository,
                                  EventRepository eventRepository, CategoryRepository categoryRepository,
-                                 CommentRepository commentRepository) {
+                                 CommentRepository commentRepository, EventSearchCache eventSearchCache,
+                                 EventSearchIndex eventSearchIndex) {
         super(eventStatClient, requestRepository, commentRepository);
         this.eventRepository = eventRepository;
         this.categoryRepository = categoryRepository;
+        this.eventSearchCache = eventSearchCache;
+        this.eventSearchIndex = eventSearchIndex;
     }
 
     @Override
     public List<EventOutDto> getEvents(int[] users, String[] states, int[] categories, String rangeStart,
-                                           String rangeEnd, int from, int size) {
+                                           String rangeEnd, int from, int size, String cursor) {
         State[] enumStates = states == null ? null
                 : Arrays.stream(states)
                 .map(this::mapToState)
@@ -55,9 +64,10 @@ public class EventAdminServiceImpl extends EventMapperService implements EventAd
         LocalDateTime start = mapToLocalDateTime(rangeStart);
         LocalDateTime end = mapToLocalDateTime(rangeEnd);
 
-        Optional<BooleanExpression> finalCondition = getFinalCondition(users, enumStates, categories, start, end);
+        Optional<BooleanExpression> finalCondition = getFinalCondition(users, enumStates, categories, start, end,
+                cursor);
         log.debug("the final condition has been formed: {}", finalCondition.isPresent() ? finalCondition.get() : "empty");
-        Pageable pageable = Pagination.of(from, size);
+        Pageable pageable = Pagination.of(cursor == null ? from : 0, size, Sort.by("id"));
 
         return finalCondition
                 .map(expression -> eventRepository.findAll(expression, pageable).getContent())
@@ -74,6 +84,8 @@ public class EventAdminServiceImpl extends EventMapperService implements EventAd
         Event updated = updateChanges(changedDto, beingUpdated);
         Event saved = eventRepository.save(updated);
         log.info("event id={} has been successfully updated", eventId);
+        if (saved.getState() == State.PUBLISHED) eventSearchCache.invalidateAll();
+        eventSearchIndex.put(saved);
 
         return (EventFullOutDto) addConfirmedRequestsAndViews(List.of(saved), true).get(0);
     }
@@ -96,6 +108,8 @@ public class EventAdminServiceImpl extends EventMapperService implements EventAd
         event.setPublishedOn(LocalDateTime.now());
         Event saved = eventRepository.save(event);
         log.info("the state of event id={} changed to PUBLISHED", eventId);
+        eventSearchCache.invalidateAll();
+        eventSearchIndex.put(saved);
 
         return EventMapper.toEventFull(saved, 0, 0);
     }
@@ -118,7 +132,8 @@ public class EventAdminServiceImpl extends EventMapperService implements EventAd
     }
 
     private Optional<BooleanExpression> getFinalCondition(int[] users, State[] states, int[] categories,
-                                                          LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+                                                          LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                          String cursor) {
         List<BooleanExpression> conditions = new ArrayList<>();
         QEvent event = QEvent.event;
 
@@ -133,6 +148,7 @@ public class EventAdminServiceImpl extends EventMapperService implements EventAd
         }
         if (rangeStart != null) conditions.add(event.eventDate.after(rangeStart));
         if (rangeEnd != null) conditions.add(event.eventDate.before(rangeEnd));
+        if (cursor != null) conditions.add(event.id.gt(Cursor.decode(cursor).getId()));
 
         return conditions.stream()
                 .reduce(BooleanExpression::and);
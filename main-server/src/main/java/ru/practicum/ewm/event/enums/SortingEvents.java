@@ -7,7 +7,9 @@ import lombok.Getter;
 @AllArgsConstructor
 public enum SortingEvents {
     EVENT_DATE("EVENT_DATE"),
-    VIEWS("VIEWS");
+    VIEWS("VIEWS"),
+    RELEVANCE("RELEVANCE"),
+    DISTANCE("DISTANCE");
 
     private final String sort;
 }
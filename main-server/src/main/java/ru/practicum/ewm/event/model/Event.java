@@ -8,6 +8,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import ru.practicum.ewm.category.model.Category;
 import ru.practicum.ewm.event.enums.State;
 import ru.practicum.ewm.user.model.User;
+import ru.practicum.ewm.util.GeoArea;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -15,7 +16,13 @@ import java.time.LocalDateTime;
 @Data
 @Builder
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_state_event_date", columnList = "state, event_date"),
+        @Index(name = "idx_events_initiator", columnList = "initiator_id"),
+        @Index(name = "idx_events_category", columnList = "category_id"),
+        @Index(name = "idx_events_location_cell", columnList = "location_cell"),
+        @Index(name = "idx_events_location", columnList = "location_latitude, location_longitude")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 public class Event {
@@ -48,6 +55,17 @@ public class Event {
     private float locationLatitude;
     @Column(name = "location_longitude")
     private float locationLongitude;
+    @Column(name = "location_cell")
+    private long locationCell;
     @Column(name = "request_moderation")
     private boolean requestModeration;
+    @Column(name = "confirmed_requests", insertable = false, updatable = false,
+            columnDefinition = "INT DEFAULT 0 NOT NULL")
+    private int confirmedRequests;
+
+    @PrePersist
+    @PreUpdate
+    private void updateLocationCell() {
+        locationCell = GeoArea.cellOf(locationLatitude, locationLongitude);
+    }
 }
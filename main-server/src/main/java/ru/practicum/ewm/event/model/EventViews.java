@@ -0,0 +1,23 @@
+package ru.practicum.ewm.event.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+@Data
+@Builder
+@Entity
+@Table(name = "event_views", indexes = {
+        @Index(name = "idx_event_views_views", columnList = "views")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventViews {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+    private long views;
+}
@@ -1,7 +1,21 @@
 package ru.practicum.ewm.event.model.dto;
 
 import lombok.experimental.SuperBuilder;
+import ru.practicum.ewm.category.model.dto.CategoryOutDto;
+import ru.practicum.ewm.user.model.dto.UserShortOutDto;
+
+import java.time.LocalDateTime;
 
 @SuperBuilder
 public class EventShortOutDto extends EventOutDto {
+
+    public EventShortOutDto(Long id, String annotation, CategoryOutDto category, UserShortOutDto initiator,
+                            String title, int confirmedRequests, LocalDateTime eventDate, boolean paid) {
+        super(id, annotation, category, initiator, title, confirmedRequests, eventDate, paid, 0);
+    }
+
+    public EventShortOutDto(Long id, String annotation, CategoryOutDto category, UserShortOutDto initiator,
+                            String title, int confirmedRequests, LocalDateTime eventDate, boolean paid, long views) {
+        super(id, annotation, category, initiator, title, confirmedRequests, eventDate, paid, views);
+    }
 }
@@ -4,6 +4,7 @@ import com.querydsl.core.types.dsl.BooleanExpression;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.category.repository.CategoryRepository;
 import ru.practicum.ewm.client.event.EventStatClient;
 import ru.practicum.ewm.error.handler.exception.*;
@@ -16,6 +17,7 @@ import ru.practicum.ewm.event.model.dto.*;
 import ru.practicum.ewm.event.model.mapper.EventMapper;
 import ru.practicum.ewm.event.repository.CommentRepository;
 import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.shared.service.EventSearchCache;
 import ru.practicum.ewm.request.model.Request;
 import ru.practicum.ewm.request.model.dto.RequestOutDto;
 import ru.practicum.ewm.request.model.mapper.RequestMapper;
@@ -32,15 +34,18 @@ public class EventPersonalServiceImpl extends EventMapperService implements Even
     private final EventRepository eventRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final EventSearchCache eventSearchCache;
 
     @Autowired
     public EventPersonalServiceImpl(EventStatClient eventStatClient, RequestRepository requestRepository,
                                     EventRepository eventRepository, CategoryRepository categoryRepository,
-                                    UserRepository userRepository, CommentRepository commentRepository) {
+                                    UserRepository userRepository, CommentRepository commentRepository,
+                                    EventSearchCache eventSearchCache) {
         super(eventStatClient, requestRepository, commentRepository);
         this.eventRepository = eventRepository;
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
+        this.eventSearchCache = eventSearchCache;
     }
 
     @Override
@@ -118,6 +123,7 @@ public class EventPersonalServiceImpl extends EventMapperService implements Even
     }
 
     @Override
+    @Transactional
     public RequestOutDto confirmRequest(long userId, long eventId, long reqId) {
         Event event = eventRepository.findByIdAndInitiatorId(eventId, userId)
                 .orElseThrow(() -> new EventNotFoundException(String.format("The user with id=%s didn't initiate " +
@@ -126,26 +132,34 @@ public class EventPersonalServiceImpl extends EventMapperService implements Even
         Request request = requestRepository.findById(reqId)
                 .orElseThrow(() -> new RequestNotFoundException(String.format("Request with id=%s not found", reqId)));
 
+        if (request.getEvent().getId() != eventId)
+            throw new ConditionIsNotMetException(String.format("the request with id=%s doesn't belong to the event " +
+                    "with id=%s", reqId, eventId));
+
         if (event.getParticipantLimit() != 0 & event.isRequestModeration()) {
-            int limit = event.getParticipantLimit();
-            int confirmedRequests = (int) requestRepository.countByEventIdAndStatus(eventId, Status.CONFIRMED);
-            if (limit > confirmedRequests) {
-                request.setStatus(Status.CONFIRMED);
-                requestRepository.save(request);
-                log.info("the status of the request id={} changed to CONFIRMED", reqId);
-                if (limit == ++confirmedRequests) {
-                    rejectAllPendingRequests(eventId);
-                    log.info("all remaining requests to event id={} in the PENDING status have been changed to " +
-                            "REJECTED status", eventId);
-                }
-            } else throw new ConditionIsNotMetException(String.format("confirmation of the request with id=%s " +
-                    "was rejected due to the exhausted limit of participants", reqId));
+            if (request.getStatus() != Status.CONFIRMED) {
+                if (eventRepository.reserveParticipantPlace(eventId) == 0)
+                    throw new ConditionIsNotMetException(String.format("confirmation of the request with id=%s " +
+                            "was rejected due to the exhausted limit of participants", reqId));
+
+                event.setConfirmedRequests(eventRepository.getConfirmedRequests(eventId));
+                eventSearchCache.invalidate(eventId);
+            }
+            request.setStatus(Status.CONFIRMED);
+            requestRepository.save(request);
+            log.info("the status of the request id={} changed to CONFIRMED", reqId);
+            if (event.getParticipantLimit() <= event.getConfirmedRequests()) {
+                rejectAllPendingRequests(eventId);
+                log.info("all remaining requests to event id={} in the PENDING status have been changed to " +
+                        "REJECTED status", eventId);
+            }
         }
 
         return RequestMapper.toRequestOut(request);
     }
 
     @Override
+    @Transactional
     public RequestOutDto rejectRequest(long userId, long eventId, long reqId) {
         if (!eventRepository.existsByIdAndInitiatorId(eventId, userId))
             throw new EventNotFoundException(String.format("The user with id=%s didn't initiate the event with id=%s",
@@ -154,8 +168,15 @@ public class EventPersonalServiceImpl extends EventMapperService implements Even
         Request request = requestRepository.findById(reqId)
                 .orElseThrow(() -> new RequestNotFoundException(String.format("Request with id=%s not found", reqId)));
 
+        Status previous = request.getStatus();
         request.setStatus(Status.REJECTED);
         requestRepository.save(request);
+        if (previous == Status.CONFIRMED) {
+            Event event = request.getEvent();
+            eventRepository.decrementConfirmedRequests(event.getId());
+            event.setConfirmedRequests(Math.max(event.getConfirmedRequests() - 1, 0));
+            eventSearchCache.invalidate(event.getId());
+        }
         log.info("status of request id={} changed to REJECTED", reqId);
 
         return RequestMapper.toRequestOut(request);
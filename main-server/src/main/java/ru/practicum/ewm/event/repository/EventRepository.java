@@ -1,22 +1,77 @@
 package ru.practicum.ewm.event.repository;
 
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.ewm.event.enums.State;
 import ru.practicum.ewm.event.model.Event;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @EnableJpaRepositories
-public interface EventRepository extends JpaRepository<Event, Long>, QuerydslPredicateExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, QuerydslPredicateExecutor<Event>,
+        EventRepositoryCustom {
 
-    Slice<Event> findAllByInitiatorId(long userId, Pageable pageable);
+    @Override
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    Iterable<Event> findAll(Predicate predicate);
+
+    @Override
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    Page<Event> findAll(Predicate predicate, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    Page<Event> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query("SELECT e FROM Event e WHERE e.initiator.id = :userId")
+    Slice<Event> findAllByInitiatorId(@Param("userId") long userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    Slice<Event> findAllByState(State state, Pageable pageable);
+
+    @Query("SELECT e.id FROM Event e WHERE e.id IN :eventIds AND e.state = :state")
+    List<Long> findIdsByIdInAndState(@Param("eventIds") Collection<Long> eventIds, @Param("state") State state);
 
     Optional<Event> findByIdAndInitiatorId(long eventId, long userId);
 
     boolean existsByIdAndInitiatorId(long eventId, long userId);
 
-    boolean existsByCategoryId(long catId);
+    @Query("SELECT CASE WHEN COUNT(e) > 0 THEN true ELSE false END FROM Event e WHERE e.category.id = :catId")
+    boolean existsByCategoryId(@Param("catId") long catId);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = e.confirmedRequests + 1 " +
+            "WHERE e.id = :eventId AND (e.participantLimit = 0 OR e.confirmedRequests < e.participantLimit)")
+    int reserveParticipantPlace(@Param("eventId") long eventId);
+
+    @Query("SELECT e.confirmedRequests FROM Event e WHERE e.id = :eventId")
+    int getConfirmedRequests(@Param("eventId") long eventId);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = e.confirmedRequests - 1 " +
+            "WHERE e.id = :eventId AND e.confirmedRequests > 0")
+    int decrementConfirmedRequests(@Param("eventId") long eventId);
+
+    @Query(value = "SELECT e.event_id FROM events e WHERE e.confirmed_requests <> (SELECT COUNT(*) " +
+            "FROM request_event r WHERE r.event_id = e.event_id AND r.status = 'CONFIRMED')", nativeQuery = true)
+    List<Long> findEventIdsWithDriftedConfirmedRequests();
+
+    @Query(value = "SELECT confirmed_requests FROM events WHERE event_id = :eventId FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockConfirmedRequests(@Param("eventId") long eventId);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = :confirmedRequests WHERE e.id = :eventId")
+    int setConfirmedRequests(@Param("eventId") long eventId, @Param("confirmedRequests") int confirmedRequests);
 }
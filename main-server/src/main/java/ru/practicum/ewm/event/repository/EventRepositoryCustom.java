@@ -0,0 +1,17 @@
+package ru.practicum.ewm.event.repository;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import ru.practicum.ewm.event.model.dto.EventShortOutDto;
+
+import java.util.List;
+
+public interface EventRepositoryCustom {
+
+    List<EventShortOutDto> findShortEventsOrderByEventDate(Predicate predicate, long offset, int limit);
+
+    List<EventShortOutDto> findShortEventsOrderByViews(Predicate predicate, long offset, int limit);
+
+    List<EventShortOutDto> findShortEventsOrderBy(Predicate predicate, OrderSpecifier<?> order, long offset,
+                                                  int limit);
+}
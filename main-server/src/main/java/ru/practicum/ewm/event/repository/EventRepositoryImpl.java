@@ -0,0 +1,81 @@
+package ru.practicum.ewm.event.repository;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQuery;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.ewm.category.model.QCategory;
+import ru.practicum.ewm.category.model.dto.CategoryOutDto;
+import ru.practicum.ewm.event.model.dto.EventShortOutDto;
+import ru.practicum.ewm.user.model.QUser;
+import ru.practicum.ewm.user.model.dto.UserShortOutDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+
+import static ru.practicum.ewm.event.model.QEvent.event;
+import static ru.practicum.ewm.event.model.QEventViews.eventViews;
+
+@RequiredArgsConstructor
+public class EventRepositoryImpl implements EventRepositoryCustom {
+    @PersistenceContext
+    private final EntityManager em;
+
+    @Override
+    public List<EventShortOutDto> findShortEventsOrderByEventDate(Predicate predicate, long offset, int limit) {
+        return selectShortEvents()
+                .where(predicate)
+                .orderBy(event.eventDate.desc(), event.id.desc())
+                .offset(offset)
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<EventShortOutDto> findShortEventsOrderByViews(Predicate predicate, long offset, int limit) {
+        return selectShortEvents(eventViews.views.coalesce(0L))
+                .leftJoin(eventViews).on(eventViews.eventId.eq(event.id))
+                .where(predicate)
+                .orderBy(eventViews.views.asc().nullsFirst(), event.id.asc())
+                .offset(offset)
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<EventShortOutDto> findShortEventsOrderBy(Predicate predicate, OrderSpecifier<?> order, long offset,
+                                                         int limit) {
+        return selectShortEvents()
+                .where(predicate)
+                .orderBy(order, event.id.desc())
+                .offset(offset)
+                .limit(limit)
+                .fetch();
+    }
+
+    private JPAQuery<EventShortOutDto> selectShortEvents(Expression<?>... extraColumns) {
+        QCategory category = QCategory.category;
+        QUser initiator = QUser.user;
+
+        List<Expression<?>> columns = new ArrayList<>(List.of(
+                event.id,
+                event.annotation,
+                Projections.constructor(CategoryOutDto.class, category.id, category.name),
+                Projections.constructor(UserShortOutDto.class, initiator.id, initiator.name),
+                event.title,
+                event.confirmedRequests,
+                event.eventDate,
+                event.paid));
+        columns.addAll(List.of(extraColumns));
+
+        return new JPAQuery<>(em)
+                .select(Projections.constructor(EventShortOutDto.class, columns.toArray(Expression[]::new)))
+                .from(event)
+                .join(event.category, category)
+                .join(event.initiator, initiator);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.ewm.event.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.ewm.event.model.EventViews;
+
+public interface EventViewsRepository extends JpaRepository<EventViews, Long> {
+}
@@ -10,9 +10,15 @@ import ru.practicum.ewm.event.enums.SortingEvents;
 import ru.practicum.ewm.event.model.dto.EventFullOutDto;
 import ru.practicum.ewm.event.model.dto.EventShortOutDto;
 import ru.practicum.ewm.event.shared.service.EventService;
+import ru.practicum.ewm.util.Cursor;
+import ru.practicum.ewm.util.GeoArea;
 import ru.practicum.ewm.util.validator.ValueOfEnum;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
@@ -43,14 +49,29 @@ public class EventController {
                                                 @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
                                             @RequestParam(value = "onlyAvailable", required = false,
                                                     defaultValue = "false") boolean onlyAvailable,
+                                            @RequestParam(value = "lat", required = false) @DecimalMin("-90")
+                                                @DecimalMax("90") Float lat,
+                                            @RequestParam(value = "lon", required = false) @DecimalMin("-180")
+                                                @DecimalMax("180") Float lon,
+                                            @RequestParam(value = "radius", defaultValue = "10") @Positive
+                                                @Max(GeoArea.MAX_RADIUS_KM) Float radius,
                                             @RequestParam(value = "sort", required = false, defaultValue = "EVENT_DATE")
                                                 @ValueOfEnum(enumClass = SortingEvents.class, isNullEnabled = true,
                                                     message = "Unsupported sorting value") String sort,
                                             @RequestParam(value = "from", defaultValue = "0") @PositiveOrZero int from,
                                             @RequestParam(value = "size", defaultValue = "10") @Min(1) int size,
-                                            HttpServletRequest request) {
+                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                            HttpServletRequest request, HttpServletResponse response) {
         eventStatClient.sendViewToStatsServer(request);
-        return eventService.getEvents(text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, from, size);
+        List<EventShortOutDto> events = eventService.getEvents(text, categories, paid, rangeStart, rangeEnd,
+                onlyAvailable, GeoArea.of(lat, lon, radius), sort, from, size, cursor);
+
+        if (events.size() == size && SortingEvents.valueOf(sort) == SortingEvents.EVENT_DATE) {
+            EventShortOutDto last = events.get(events.size() - 1);
+            response.setHeader(Cursor.NEXT_CURSOR_HEADER, Cursor.of(last.getEventDate(), last.getId()).encode());
+        }
+
+        return events;
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,134 @@
+package ru.practicum.ewm.event.shared.service;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.ewm.event.model.dto.EventShortOutDto;
+import ru.practicum.ewm.util.GeoArea;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class EventSearchCache {
+    private final boolean enabled;
+    private final long ttlMs;
+    private final Map<Key, Entry> entries;
+    private long generation;
+
+    @Autowired
+    public EventSearchCache(@Value("${events.cache.enabled:false}") boolean enabled,
+                            @Value("${events.cache.ttl-ms:5000}") long ttlMs,
+                            @Value("${events.cache.max-entries:1000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public List<EventShortOutDto> get(Key key, Supplier<List<EventShortOutDto>> loader) {
+        if (!enabled) return loader.get();
+
+        long observedGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.getExpiresAt() > System.currentTimeMillis()) {
+                log.debug("events for {} have been found in the cache", key);
+                return entry.getEvents();
+            }
+            observedGeneration = generation;
+        }
+
+        List<EventShortOutDto> events = Collections.unmodifiableList(loader.get());
+        Set<Long> eventIds = events.stream()
+                .map(EventShortOutDto::getId)
+                .collect(Collectors.toSet());
+
+        synchronized (this) {
+            if (observedGeneration == generation)
+                entries.put(key, new Entry(events, eventIds, System.currentTimeMillis() + ttlMs));
+        }
+
+        return events;
+    }
+
+    public void invalidate(long eventId) {
+        if (!enabled) return;
+
+        evict(eventId);
+        afterCommit(() -> evict(eventId));
+    }
+
+    public void invalidateAll() {
+        if (!enabled) return;
+
+        evictAll();
+        afterCommit(this::evictAll);
+    }
+
+    private synchronized void evict(long eventId) {
+        generation++;
+        entries.values().removeIf(entry -> entry.getEventIds().contains(eventId));
+        log.debug("cached event searches containing event id={} have been invalidated", eventId);
+    }
+
+    private synchronized void evictAll() {
+        generation++;
+        entries.clear();
+        log.debug("all cached event searches have been invalidated");
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    @Data
+    public static class Key {
+        private final String text;
+        private final List<Integer> categories;
+        private final Boolean paid;
+        private final LocalDateTime rangeStart;
+        private final LocalDateTime rangeEnd;
+        private final boolean onlyAvailable;
+        private final GeoArea area;
+        private final String sort;
+        private final int from;
+        private final int size;
+        private final String cursor;
+
+        public static Key of(String text, int[] categories, Boolean paid, LocalDateTime rangeStart,
+                             LocalDateTime rangeEnd, boolean onlyAvailable, GeoArea area, String sort, int from,
+                             int size, String cursor) {
+            return new Key(text == null ? null : text.toLowerCase(Locale.ROOT),
+                    categories == null ? null : Arrays.stream(categories).sorted().distinct().boxed()
+                            .collect(Collectors.toList()),
+                    paid, rangeStart, rangeEnd, onlyAvailable, area, sort, cursor == null ? from : 0, size,
+                    cursor);
+        }
+    }
+
+    @Data
+    private static class Entry {
+        private final List<EventShortOutDto> events;
+        private final Set<Long> eventIds;
+        private final long expiresAt;
+    }
+}
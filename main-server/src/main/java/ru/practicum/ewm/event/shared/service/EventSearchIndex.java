@@ -0,0 +1,354 @@
+package ru.practicum.ewm.event.shared.service;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.ewm.event.enums.State;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.util.Cursor;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class EventSearchIndex {
+    private static final Comparator<Document> BY_EVENT_DATE_DESC = Comparator
+            .comparing(Document::getEventDate, Comparator.reverseOrder())
+            .thenComparing(Document::getId, Comparator.reverseOrder());
+
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Document> documents = new HashMap<>();
+    private NavigableSet<Document> byEventDate = new TreeSet<>(BY_EVENT_DATE_DESC);
+    private Map<Long, Posting> postings = new HashMap<>();
+    private Map<Long, Document> putsDuringRebuild;
+    private volatile boolean ready;
+
+    @Autowired
+    public EventSearchIndex(EventRepository eventRepository,
+                            @Value("${events.index.enabled:false}") boolean enabled,
+                            @Value("${events.index.batch-size:500}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isAvailable() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${events.index.rebuild-interval-ms:300000}",
+            fixedDelayString = "${events.index.rebuild-interval-ms:300000}")
+    public synchronized void rebuild() {
+        if (!enabled) return;
+
+        lock.writeLock().lock();
+        try {
+            putsDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, Document> loadedDocuments = new HashMap<>();
+        NavigableSet<Document> loadedByEventDate = new TreeSet<>(BY_EVENT_DATE_DESC);
+        Map<Long, Posting> loadedPostings = new HashMap<>();
+
+        try {
+            Pageable pageable = PageRequest.of(0, batchSize, Sort.by("id"));
+            Slice<Event> events;
+            do {
+                events = eventRepository.findAllByState(State.PUBLISHED, pageable);
+                events.forEach(event -> add(Document.of(event), loadedDocuments, loadedByEventDate, loadedPostings));
+                pageable = events.nextPageable();
+            } while (events.hasNext());
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                putsDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            replayed = putsDuringRebuild.size();
+            putsDuringRebuild.forEach((eventId, document) -> {
+                remove(eventId, loadedDocuments, loadedByEventDate, loadedPostings);
+                if (document != null) add(document, loadedDocuments, loadedByEventDate, loadedPostings);
+            });
+            putsDuringRebuild = null;
+
+            documents = loadedDocuments;
+            byEventDate = loadedByEventDate;
+            postings = loadedPostings;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("the search index has been rebuilt, published events={}, trigrams={}, replayed updates={}",
+                loadedDocuments.size(), loadedPostings.size(), replayed);
+    }
+
+    public void put(Event event) {
+        if (!enabled) return;
+
+        Document document = event.getState() == State.PUBLISHED ? Document.of(event) : null;
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(event.getId(), documents, byEventDate, postings);
+                if (document != null) add(document, documents, byEventDate, postings);
+                if (putsDuringRebuild != null) putsDuringRebuild.put(event.getId(), document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("event id={} has been reindexed", event.getId());
+        });
+    }
+
+    public List<Long> search(Query query) {
+        lock.readLock().lock();
+        try {
+            Iterator<Document> candidates = candidates(query);
+            List<Long> found = new ArrayList<>(query.getSize());
+            int skipped = 0;
+
+            while (candidates.hasNext() && found.size() < query.getSize()) {
+                Document document = candidates.next();
+                if (!query.matches(document)) continue;
+                if (skipped++ < query.getFrom()) continue;
+
+                found.add(document.getId());
+            }
+
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Iterator<Document> candidates(Query query) {
+        NavigableSet<Document> ordered = query.getAfter() == null ? byEventDate
+                : byEventDate.tailSet(query.getAfter(), false);
+        if (query.getText() == null || query.getText().length() < 3) return ordered.iterator();
+
+        long[] trigrams = trigrams(query.getText());
+        Posting[] matchedPostings = new Posting[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            matchedPostings[i] = postings.get(trigrams[i]);
+            if (matchedPostings[i] == null) return Collections.emptyIterator();
+        }
+        Arrays.sort(matchedPostings, Comparator.comparingInt(Posting::size));
+
+        long[] ids = matchedPostings[0].toArray();
+        int found = ids.length;
+        for (int i = 1; i < matchedPostings.length && found > 0; i++) {
+            int retained = 0;
+            for (int j = 0; j < found; j++) {
+                if (matchedPostings[i].contains(ids[j])) ids[retained++] = ids[j];
+            }
+            found = retained;
+        }
+
+        NavigableSet<Document> matched = new TreeSet<>(BY_EVENT_DATE_DESC);
+        for (int i = 0; i < found; i++) {
+            Document document = documents.get(ids[i]);
+            if (query.getAfter() == null || BY_EVENT_DATE_DESC.compare(document, query.getAfter()) > 0)
+                matched.add(document);
+        }
+        return matched.iterator();
+    }
+
+    private static void remove(long eventId, Map<Long, Document> documents, NavigableSet<Document> byEventDate,
+                               Map<Long, Posting> postings) {
+        Document document = documents.remove(eventId);
+        if (document == null) return;
+
+        byEventDate.remove(document);
+        for (long trigram : document.getTrigrams()) {
+            Posting posting = postings.get(trigram);
+            if (posting == null) continue;
+
+            posting.remove(eventId);
+            if (posting.size() == 0) postings.remove(trigram);
+        }
+    }
+
+    private static void add(Document document, Map<Long, Document> documents, NavigableSet<Document> byEventDate,
+                            Map<Long, Posting> postings) {
+        documents.put(document.getId(), document);
+        byEventDate.add(document);
+        for (long trigram : document.getTrigrams()) {
+            postings.computeIfAbsent(trigram, key -> new Posting()).add(document.getId());
+        }
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    static long[] trigrams(String... texts) {
+        int count = 0;
+        for (String text : texts) count += Math.max(0, text.length() - 2);
+
+        long[] trigrams = new long[count];
+        int next = 0;
+        for (String text : texts) {
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                trigrams[next++] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16)
+                        | text.charAt(i + 2);
+            }
+        }
+
+        Arrays.sort(trigrams);
+        int unique = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[unique - 1]) trigrams[unique++] = trigrams[i];
+        }
+        return Arrays.copyOf(trigrams, unique);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    @Data
+    static class Document {
+        private final long id;
+        private final String title;
+        private final String annotation;
+        private final String description;
+        private final long categoryId;
+        private final boolean paid;
+        private final LocalDateTime eventDate;
+        private final long[] trigrams;
+
+        static Document of(Event event) {
+            String title = normalize(event.getTitle());
+            String annotation = normalize(event.getAnnotation());
+            String description = normalize(event.getDescription());
+
+            return new Document(event.getId(), title, annotation, description, event.getCategory().getId(),
+                    event.isPaid(), event.getEventDate(), EventSearchIndex.trigrams(title, annotation, description));
+        }
+
+        boolean contains(String text) {
+            return title.contains(text) || annotation.contains(text) || description.contains(text);
+        }
+    }
+
+    /**
+     * Event ids of a trigram kept sorted in a primitive array. A rebuild adds ids in ascending order, so it only
+     * appends to the array.
+     */
+    static class Posting {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) return;
+
+            index = -index - 1;
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) return;
+
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    @Data
+    public static class Query {
+        private final String text;
+        private final Set<Long> categories;
+        private final Boolean paid;
+        private final LocalDateTime rangeStart;
+        private final LocalDateTime rangeEnd;
+        private final Document after;
+        private final int from;
+        private final int size;
+
+        public static Query of(String text, int[] categories, Boolean paid, LocalDateTime rangeStart,
+                               LocalDateTime rangeEnd, Cursor cursor, int from, int size) {
+            Set<Long> categoryIds = null;
+            if (categories != null) {
+                categoryIds = new HashSet<>();
+                for (int category : categories) categoryIds.add((long) category);
+            }
+
+            Document after = cursor == null ? null : new Document(cursor.getId(), "", "", "", 0, false,
+                    cursor.getEventDate(), new long[0]);
+
+            return new Query(text == null ? null : normalize(text), categoryIds, paid,
+                    rangeStart == null ? LocalDateTime.now() : rangeStart, rangeEnd, after, from, size);
+        }
+
+        boolean matches(Document document) {
+            return document.getEventDate().isAfter(rangeStart)
+                    && (rangeEnd == null || document.getEventDate().isBefore(rangeEnd))
+                    && (categories == null || categories.contains(document.getCategoryId()))
+                    && (paid == null || paid == document.isPaid())
+                    && (text == null || document.contains(text));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.ewm.event.shared.service;
 
 import ru.practicum.ewm.event.model.dto.EventFullOutDto;
 import ru.practicum.ewm.event.model.dto.EventShortOutDto;
+import ru.practicum.ewm.util.GeoArea;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,8 +10,8 @@ import java.util.List;
 public interface EventService {
 
     List<EventShortOutDto> getEvents(String text, int[] categories, Boolean paid, LocalDateTime rangeStart,
-                                     LocalDateTime rangeEnd, boolean onlyAvailable, String sortingEvents,
-                                     int from, int size);
+                                     LocalDateTime rangeEnd, boolean onlyAvailable, GeoArea area,
+                                     String sortingEvents, int from, int size, String cursor);
 
     EventFullOutDto getEventById(long id);
 }
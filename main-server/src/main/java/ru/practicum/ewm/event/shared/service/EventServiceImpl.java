@@ -1,27 +1,26 @@
 package ru.practicum.ewm.event.shared.service;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Slice;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.ewm.client.event.EventStatClient;
 import ru.practicum.ewm.client.event.StatisticEventService;
 import ru.practicum.ewm.error.handler.exception.EventNotFoundException;
+import ru.practicum.ewm.error.handler.exception.InvalidRequestException;
 import ru.practicum.ewm.error.handler.exception.NoAccessRightsException;
 import ru.practicum.ewm.event.enums.SortingEvents;
 import ru.practicum.ewm.event.enums.State;
-import ru.practicum.ewm.event.enums.Status;
 import ru.practicum.ewm.event.model.Event;
 import ru.practicum.ewm.event.model.QEvent;
 import ru.practicum.ewm.event.model.dto.EventFullOutDto;
 import ru.practicum.ewm.event.model.dto.EventShortOutDto;
 import ru.practicum.ewm.event.repository.EventRepository;
-import ru.practicum.ewm.request.model.QRequest;
 import ru.practicum.ewm.request.repository.RequestRepository;
-import ru.practicum.ewm.util.Pagination;
+import ru.practicum.ewm.util.Cursor;
+import ru.practicum.ewm.util.GeoArea;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -31,25 +30,30 @@ import java.util.stream.Collectors;
 @Slf4j
 public class EventServiceImpl extends StatisticEventService implements EventService {
     private final EventRepository eventRepository;
+    private final EventSearchCache eventSearchCache;
+    private final EventTextSearch eventTextSearch;
+    private final EventSearchIndex eventSearchIndex;
 
     @Autowired
-    public EventServiceImpl(EventStatClient eventStatClient, RequestRepository requestRepository, EventRepository eventRepository) {
+    public EventServiceImpl(EventStatClient eventStatClient, RequestRepository requestRepository, EventRepository eventRepository,
+                            EventSearchCache eventSearchCache, EventTextSearch eventTextSearch,
+                            EventSearchIndex eventSearchIndex) {
         super(eventStatClient, requestRepository);
         this.eventRepository = eventRepository;
+        this.eventSearchCache = eventSearchCache;
+        this.eventTextSearch = eventTextSearch;
+        this.eventSearchIndex = eventSearchIndex;
     }
 
     @Override
     public List<EventShortOutDto> getEvents(String text, int[] categories, Boolean paid, LocalDateTime rangeStart,
-                                            LocalDateTime rangeEnd, boolean onlyAvailable, String sort,
-                                            int from, int size) {
-        BooleanExpression finalCondition = getFinalCondition(text, categories, paid, rangeStart, rangeEnd,
-                onlyAvailable);
-        log.debug("the final condition has been successfully formed: {}", finalCondition);
-
-        if (SortingEvents.valueOf(sort) == SortingEvents.EVENT_DATE) return getEventsSortedByDate(finalCondition, from,
-                size);
+                                            LocalDateTime rangeEnd, boolean onlyAvailable, GeoArea area,
+                                            String sort, int from, int size, String cursor) {
+        EventSearchCache.Key key = EventSearchCache.Key.of(text, categories, paid, rangeStart, rangeEnd, onlyAvailable,
+                area, sort, from, size, cursor);
 
-        return getEventsSortedByViews(finalCondition, from, size);
+        return eventSearchCache.get(key, () -> searchEvents(text, categories, paid, rangeStart, rangeEnd,
+                onlyAvailable, area, sort, from, size, cursor));
     }
 
     @Override
@@ -64,6 +68,94 @@ public class EventServiceImpl extends StatisticEventService implements EventServ
         return (EventFullOutDto) addConfirmedRequestsAndViews(List.of(event), true).get(0);
     }
 
+    private List<EventShortOutDto> searchEvents(String text, int[] categories, Boolean paid,
+                                                LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                boolean onlyAvailable, GeoArea area, String sort, int from,
+                                                int size, String cursor) {
+        if (SortingEvents.valueOf(sort) == SortingEvents.EVENT_DATE && area == null
+                && canSearchInIndex(text, onlyAvailable))
+            return searchEventsInIndex(text, categories, paid, rangeStart, rangeEnd, from, size, cursor);
+
+        BooleanExpression condition = getFinalCondition(text, categories, paid, rangeStart, rangeEnd,
+                onlyAvailable);
+        log.debug("the final condition has been successfully formed: {}", condition);
+
+        if (area == null && SortingEvents.valueOf(sort) == SortingEvents.DISTANCE)
+            throw new InvalidRequestException("lat and lon are required for DISTANCE sorting");
+
+        if (area != null) {
+            condition = condition.and(getAreaCondition(area));
+
+            if (SortingEvents.valueOf(sort) == SortingEvents.DISTANCE) {
+                if (cursor != null) throw new InvalidRequestException("cursor pagination is only supported for " +
+                        "EVENT_DATE sorting");
+
+                return addViews(eventRepository.findShortEventsOrderBy(condition, haversine(area).asc(), from,
+                        size));
+            }
+        }
+
+        BooleanExpression finalCondition = condition;
+
+        if (SortingEvents.valueOf(sort) == SortingEvents.EVENT_DATE) {
+            if (cursor == null) return getEventsSortedByDate(finalCondition, from, size);
+
+            Cursor after = Cursor.decodeWithEventDate(cursor);
+            QEvent event = QEvent.event;
+            return getEventsSortedByDate(finalCondition.and(event.eventDate.lt(after.getEventDate())
+                    .or(event.eventDate.eq(after.getEventDate()).and(event.id.lt(after.getId())))), 0, size);
+        }
+
+        if (cursor != null) throw new InvalidRequestException("cursor pagination is only supported for EVENT_DATE " +
+                "sorting");
+
+        if (SortingEvents.valueOf(sort) == SortingEvents.RELEVANCE)
+            return eventTextSearch.relevance(text)
+                    .map(relevance -> addViews(eventRepository.findShortEventsOrderBy(finalCondition, relevance, from,
+                            size)))
+                    .orElseGet(() -> getEventsSortedByDate(finalCondition, from, size));
+
+        return getEventsSortedByViews(finalCondition, from, size);
+    }
+
+    private BooleanExpression getAreaCondition(GeoArea area) {
+        QEvent event = QEvent.event;
+        BooleanExpression areaCondition = event.locationLatitude.between((float) area.getMinLatitude(),
+                (float) area.getMaxLatitude());
+        if (area.isLongitudeBounded())
+            areaCondition = areaCondition.and(event.locationLongitude.between((float) area.getMinLongitude(),
+                    (float) area.getMaxLongitude()));
+        List<Long> cells = area.getCells();
+        if (!cells.isEmpty()) areaCondition = areaCondition.and(event.locationCell.in(cells));
+
+        return areaCondition.and(haversine(area).loe(area.getMaxHaversine()));
+    }
+
+    private NumberExpression<Double> haversine(GeoArea area) {
+        QEvent event = QEvent.event;
+        return Expressions.numberTemplate(Double.class, "sin(radians({0} - {2}) / 2) * sin(radians({0} - {2}) / 2) " +
+                "+ cos(radians({0})) * {4} * sin(radians({1} - {3}) / 2) * sin(radians({1} - {3}) / 2)",
+                event.locationLatitude, event.locationLongitude, area.getLatitude(), area.getLongitude(),
+                Math.cos(Math.toRadians(area.getLatitude())));
+    }
+
+    private boolean canSearchInIndex(String text, boolean onlyAvailable) {
+        return eventSearchIndex.isAvailable() && !onlyAvailable && (text == null || !eventTextSearch.isFullText());
+    }
+
+    private List<EventShortOutDto> searchEventsInIndex(String text, int[] categories, Boolean paid,
+                                                       LocalDateTime rangeStart, LocalDateTime rangeEnd, int from,
+                                                       int size, String cursor) {
+        Cursor after = cursor == null ? null : Cursor.decodeWithEventDate(cursor);
+        List<Long> eventIds = eventSearchIndex.search(EventSearchIndex.Query.of(text, categories, paid, rangeStart,
+                rangeEnd, after, after == null ? from : 0, size));
+        log.debug("the search index has found events ids={}", eventIds);
+        if (eventIds.isEmpty()) return List.of();
+
+        QEvent event = QEvent.event;
+        return getEventsSortedByDate(event.id.in(eventIds).and(event.state.eq(State.PUBLISHED)), 0, size);
+    }
+
     private BooleanExpression getFinalCondition(String text, int[] categories, Boolean paid, LocalDateTime rangeStart,
                                                 LocalDateTime rangeEnd, boolean onlyAvailable) {
         List<BooleanExpression> conditions = new ArrayList<>();
@@ -71,23 +163,15 @@ public class EventServiceImpl extends StatisticEventService implements EventServ
 
         conditions.add(event.state.eq(State.PUBLISHED).and(event.eventDate.after(rangeStart == null ? LocalDateTime.now()
                 : rangeStart)));
-        if (text != null)
-            conditions.add(event.annotation.containsIgnoreCase(text).or(event.description.containsIgnoreCase(text)));
+        if (text != null) conditions.add(eventTextSearch.matches(text));
         if (categories != null) {
             List<Long> catIds = Arrays.stream(categories).mapToObj(Long::valueOf).collect(Collectors.toList());
             conditions.add(event.category.id.in(catIds));
         }
         if (paid != null) conditions.add(paid ? event.paid.isTrue() : event.paid.isFalse());
         if (rangeEnd != null) conditions.add(event.eventDate.before(rangeEnd));
-        if (onlyAvailable) {
-            QRequest request = QRequest.request;
-            BooleanExpression ifLimitIsZero = event.participantLimit.eq(0);
-            BooleanExpression ifRequestModerationFalse = event.requestModeration.isFalse()
-                    .and(event.participantLimit.goe(request.count()));
-            BooleanExpression ifRequestModerationTrue = event.requestModeration.isTrue()
-                    .and(event.participantLimit.goe(request.status.eq(Status.CONFIRMED).count()));
-            conditions.add(ifLimitIsZero.or(ifRequestModerationFalse).or(ifRequestModerationTrue));
-        }
+        if (onlyAvailable)
+            conditions.add(event.participantLimit.eq(0).or(event.confirmedRequests.lt(event.participantLimit)));
 
         return conditions.stream()
                 .reduce(BooleanExpression::and)
@@ -95,23 +179,13 @@ public class EventServiceImpl extends StatisticEventService implements EventServ
     }
 
     private List<EventShortOutDto> getEventsSortedByDate(BooleanExpression expression, int from, int size) {
-        Pageable pageable = Pagination.of(from, size, Sort.by("eventDate").descending());
-        Slice<Event> events = eventRepository.findAll(expression, pageable);
-
-        return addConfirmedRequestsAndViews(events.getContent(), false).stream()
-                .map(eventOutDto -> (EventShortOutDto) eventOutDto)
-                .collect(Collectors.toList());
+        return addViews(eventRepository.findShortEventsOrderByEventDate(expression, from, size));
     }
 
+    /**
+     * The views are the synchronized ones the events are sorted by, so the listing never contradicts its order.
+     */
     private List<EventShortOutDto> getEventsSortedByViews(BooleanExpression expression, int from, int size) {
-        List<Event> events = new ArrayList<>();
-        eventRepository.findAll(expression).forEach(events::add);
-
-        return addConfirmedRequestsAndViews(events, false).stream()
-                .map(eventOutDto -> (EventShortOutDto) eventOutDto)
-                .sorted(Comparator.comparing(EventShortOutDto::getViews))
-                .skip(from)
-                .limit(size)
-                .collect(Collectors.toList());
+        return eventRepository.findShortEventsOrderByViews(expression, from, size);
     }
 }
@@ -0,0 +1,67 @@
+package ru.practicum.ewm.event.shared.service;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static ru.practicum.ewm.event.model.QEvent.event;
+
+/**
+ * Builds the {@code text} condition of the event search.
+ * <p>
+ * With {@code events.search.full-text=false} the text is matched as a case insensitive substring of the title,
+ * annotation or description. With {@code events.search.full-text=true} the semantics change: every word of the
+ * text must be a prefix of some word of the event, so "foot" finds "football" while "ball" no longer does, and
+ * the results are ordered by relevance. Texts without letters or digits keep the substring match.
+ */
+@Component
+public class EventTextSearch {
+    private final boolean fullText;
+
+    @Autowired
+    public EventTextSearch(@Value("${events.search.full-text:false}") boolean fullText) {
+        this.fullText = fullText;
+    }
+
+    public boolean isFullText() {
+        return fullText;
+    }
+
+    public BooleanExpression matches(String text) {
+        String query = toTsQuery(text);
+        if (!fullText || query == null)
+            return event.title.containsIgnoreCase(text)
+                    .or(event.annotation.containsIgnoreCase(text))
+                    .or(event.description.containsIgnoreCase(text));
+
+        return Expressions.booleanTemplate("function('fts_match', {0}, {1}, {2}, {3}) = true", event.title,
+                event.annotation, event.description, query);
+    }
+
+    public Optional<OrderSpecifier<Float>> relevance(String text) {
+        String query = toTsQuery(text);
+        if (!fullText || query == null) return Optional.empty();
+
+        return Optional.of(Expressions.numberTemplate(Float.class, "function('fts_rank', {0}, {1}, {2}, {3})",
+                event.title, event.annotation, event.description, query).desc());
+    }
+
+    static String toTsQuery(String text) {
+        if (text == null) return null;
+
+        String query = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+
+        return query.isEmpty() ? null : query;
+    }
+}
@@ -17,7 +17,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "request_event")
+@Table(name = "request_event", indexes = {
+        @Index(name = "idx_request_event_event_status", columnList = "event_id, status"),
+        @Index(name = "idx_request_event_requester_event", columnList = "requester, event_id")
+})
 public class Request {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -3,6 +3,7 @@ package ru.practicum.ewm.request.personal.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.error.handler.exception.ConditionIsNotMetException;
 import ru.practicum.ewm.error.handler.exception.EventNotFoundException;
 import ru.practicum.ewm.error.handler.exception.RequestNotFoundException;
@@ -11,6 +12,7 @@ import ru.practicum.ewm.event.enums.State;
 import ru.practicum.ewm.event.enums.Status;
 import ru.practicum.ewm.event.model.Event;
 import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.shared.service.EventSearchCache;
 import ru.practicum.ewm.request.model.Request;
 import ru.practicum.ewm.request.model.dto.RequestOutDto;
 import ru.practicum.ewm.request.model.mapper.RequestMapper;
@@ -27,8 +29,10 @@ public class RequestServiceImpl implements RequestService {
     private final RequestRepository requestRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final EventSearchCache eventSearchCache;
 
     @Override
+    @Transactional
     public RequestOutDto createRequest(long userId, long eventId) {
         if (requestRepository.existsByRequesterIdAndEventId(userId, eventId))
             throw new ConditionIsNotMetException(String.format("User with id=%s already has a request to participate " +
@@ -45,12 +49,22 @@ public class RequestServiceImpl implements RequestService {
                 .status(event.isRequestModeration() ? Status.PENDING : Status.CONFIRMED)
                 .build();
 
+        if (request.getStatus() == Status.CONFIRMED) {
+            if (eventRepository.reserveParticipantPlace(eventId) == 0)
+                throw new ConditionIsNotMetException(String.format("The event with id=%s has already reached " +
+                        "the request limit", eventId));
+
+            event.setConfirmedRequests(event.getConfirmedRequests() + 1);
+            eventSearchCache.invalidate(eventId);
+        }
+
         Request saved = requestRepository.save(request);
         log.info("request id={} has been successfully added with status-{}", saved.getId(), saved.getStatus());
         return RequestMapper.toRequestOut(saved);
     }
 
     @Override
+    @Transactional
     public RequestOutDto cancelRequest(long userId, long requestId) {
         Request request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new RequestNotFoundException(String.format("Request with id=%s not found", requestId)));
@@ -58,8 +72,15 @@ public class RequestServiceImpl implements RequestService {
         if (request.getRequester().getId() != userId)
             throw new ConditionIsNotMetException("the request belongs to another user");
 
+        Status previous = request.getStatus();
         request.setStatus(Status.CANCELED);
         Request updated = requestRepository.save(request);
+        if (previous == Status.CONFIRMED) {
+            Event event = request.getEvent();
+            eventRepository.decrementConfirmedRequests(event.getId());
+            event.setConfirmedRequests(Math.max(event.getConfirmedRequests() - 1, 0));
+            eventSearchCache.invalidate(event.getId());
+        }
         log.info("status of request id={} changed to CANCELED", requestId);
 
         return RequestMapper.toRequestOut(updated);
@@ -82,12 +103,9 @@ public class RequestServiceImpl implements RequestService {
 
         int limit = event.getParticipantLimit();
 
-        if (limit > 0) {
-            int confirmedRequests = (int) requestRepository.countByEventIdAndStatus(event.getId(), Status.CONFIRMED);
-            if (confirmedRequests == limit)
-                throw new ConditionIsNotMetException(String.format("The event with id=%s has already reached " +
-                        "the request limit", event.getId()));
-        }
+        if (limit > 0 && event.getConfirmedRequests() >= limit)
+            throw new ConditionIsNotMetException(String.format("The event with id=%s has already reached " +
+                    "the request limit", event.getId()));
 
         log.info("the event id={} has no restrictions for request to participate in it", event.getId());
     }
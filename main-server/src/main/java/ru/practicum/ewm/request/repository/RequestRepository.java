@@ -1,8 +1,11 @@
 package ru.practicum.ewm.request.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.ewm.event.enums.Status;
 import ru.practicum.ewm.request.model.Request;
 
@@ -11,13 +14,17 @@ import java.util.List;
 @EnableJpaRepositories
 public interface RequestRepository extends JpaRepository<Request, Long>, QuerydslPredicateExecutor<Request> {
 
-    long countByEventId(long eventId);
-
     long countByEventIdAndStatus(long eventId, Status status);
 
-    List<Request> findAllByEventId(long eventId);
+    @EntityGraph(attributePaths = {"event", "event.category", "event.initiator", "requester"})
+    @Query("SELECT r FROM Request r WHERE r.event.id = :eventId")
+    List<Request> findAllByEventId(@Param("eventId") long eventId);
 
-    List<Request> findAllByRequesterId(long userId);
+    @EntityGraph(attributePaths = {"event", "event.category", "event.initiator", "requester"})
+    @Query("SELECT r FROM Request r WHERE r.requester.id = :userId")
+    List<Request> findAllByRequesterId(@Param("userId") long userId);
 
-    boolean existsByRequesterIdAndEventId(long userId, long eventId);
+    @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM Request r " +
+            "WHERE r.requester.id = :userId AND r.event.id = :eventId")
+    boolean existsByRequesterIdAndEventId(@Param("userId") long userId, @Param("eventId") long eventId);
 }
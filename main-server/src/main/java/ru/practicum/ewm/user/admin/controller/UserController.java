@@ -6,7 +6,9 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.user.admin.service.UserService;
 import ru.practicum.ewm.user.model.dto.UserInDto;
 import ru.practicum.ewm.user.model.dto.UserOutDto;
+import ru.practicum.ewm.util.Cursor;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
@@ -27,8 +29,15 @@ public class UserController {
     @GetMapping
     public List<UserOutDto> getUsers(@RequestParam(required = false) int[] ids,
                                      @RequestParam(value = "from", defaultValue = "0") @PositiveOrZero int from,
-                                     @RequestParam(value = "size", defaultValue = "10") @Min(1) int size) {
-        return userService.getUsers(ids, from, size);
+                                     @RequestParam(value = "size", defaultValue = "10") @Min(1) int size,
+                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                     HttpServletResponse response) {
+        List<UserOutDto> users = userService.getUsers(ids, from, size, cursor);
+
+        if (users.size() == size)
+            response.setHeader(Cursor.NEXT_CURSOR_HEADER, Cursor.of(users.get(users.size() - 1).getId()).encode());
+
+        return users;
     }
 
     @PostMapping
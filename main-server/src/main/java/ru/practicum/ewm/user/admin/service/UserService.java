@@ -7,7 +7,7 @@ import java.util.List;
 
 public interface UserService {
 
-    List<UserOutDto> getUsers(int[] ids, int from, int size);
+    List<UserOutDto> getUsers(int[] ids, int from, int size, String cursor);
 
     UserOutDto createUser(UserInDto userInDto);
 
@@ -1,8 +1,10 @@
 package ru.practicum.ewm.user.admin.service;
 
+import com.querydsl.core.types.dsl.BooleanExpression;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.ewm.error.handler.exception.UserNotFoundException;
 import ru.practicum.ewm.user.model.QUser;
@@ -11,8 +13,10 @@ import ru.practicum.ewm.user.model.dto.UserInDto;
 import ru.practicum.ewm.user.model.dto.UserOutDto;
 import ru.practicum.ewm.user.model.mapper.UserMapper;
 import ru.practicum.ewm.user.repository.UserRepository;
+import ru.practicum.ewm.util.Cursor;
 import ru.practicum.ewm.util.Pagination;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -24,15 +28,21 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
 
     @Override
-    public List<UserOutDto> getUsers(int[] ids, int from, int size) {
-        Pageable pageable = Pagination.of(from, size);
-        List<User> users;
+    public List<UserOutDto> getUsers(int[] ids, int from, int size, String cursor) {
+        Pageable pageable = Pagination.of(cursor == null ? from : 0, size, Sort.by("id"));
+        QUser user = QUser.user;
+        List<BooleanExpression> conditions = new ArrayList<>();
 
         if (ids != null) {
-            QUser user = QUser.user;
             List<Long> idsLong = Arrays.stream(ids).mapToObj(Long::valueOf).collect(Collectors.toList());
-            users = userRepository.findAll(user.id.in(idsLong), pageable).getContent();
-        } else users = userRepository.findAll(pageable).getContent();
+            conditions.add(user.id.in(idsLong));
+        }
+        if (cursor != null) conditions.add(user.id.gt(Cursor.decode(cursor).getId()));
+
+        List<User> users = conditions.stream()
+                .reduce(BooleanExpression::and)
+                .map(condition -> userRepository.findAll(condition, pageable).getContent())
+                .orElseGet(() -> userRepository.findAll(pageable).getContent());
 
         return users.stream()
                 .map(UserMapper::toUserOut)
@@ -0,0 +1,59 @@
+package ru.practicum.ewm.util;
+
+import lombok.Getter;
+import ru.practicum.ewm.error.handler.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+public class Cursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime eventDate;
+    private final long id;
+
+    private Cursor(LocalDateTime eventDate, long id) {
+        this.eventDate = eventDate;
+        this.id = id;
+    }
+
+    public static Cursor of(long id) {
+        return new Cursor(null, id);
+    }
+
+    public static Cursor of(LocalDateTime eventDate, long id) {
+        return new Cursor(eventDate, id);
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, -1);
+
+            if (parts.length == 1) return of(Long.parseLong(parts[0]));
+            if (parts.length == 2) return of(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException(String.format("Invalid cursor: %s", token));
+        }
+
+        throw new InvalidRequestException(String.format("Invalid cursor: %s", token));
+    }
+
+    public static Cursor decodeWithEventDate(String token) {
+        Cursor cursor = decode(token);
+
+        if (cursor.getEventDate() == null)
+            throw new InvalidRequestException(String.format("Invalid cursor: %s", token));
+
+        return cursor;
+    }
+
+    public String encode() {
+        String value = eventDate == null ? String.valueOf(id) : eventDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
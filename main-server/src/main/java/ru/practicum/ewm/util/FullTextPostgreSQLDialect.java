@@ -0,0 +1,18 @@
+package ru.practicum.ewm.util;
+
+import org.hibernate.dialect.PostgreSQL10Dialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+public class FullTextPostgreSQLDialect extends PostgreSQL10Dialect {
+    public static final String DOCUMENT = "setweight(to_tsvector('simple', ?1), 'A') || " +
+            "setweight(to_tsvector('simple', ?2), 'B') || setweight(to_tsvector('simple', ?3), 'C')";
+
+    public FullTextPostgreSQLDialect() {
+        super();
+        registerFunction("fts_match", new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN,
+                "(" + DOCUMENT + ") @@ to_tsquery('simple', ?4)"));
+        registerFunction("fts_rank", new SQLFunctionTemplate(StandardBasicTypes.FLOAT,
+                "ts_rank(" + DOCUMENT + ", to_tsquery('simple', ?4))"));
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.ewm.util;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.ewm.error.handler.exception.InvalidRequestException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+public class GeoArea {
+    public static final double CELL_SIZE_DEGREES = 0.1;
+    public static final long MAX_RADIUS_KM = 500;
+    private static final int COLUMNS = (int) Math.round(360 / CELL_SIZE_DEGREES);
+    private static final int ROWS = (int) Math.round(180 / CELL_SIZE_DEGREES);
+    private static final int MAX_CELLS = 400;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final double latitude;
+    private final double longitude;
+    private final double radiusKm;
+
+    private GeoArea(double latitude, double longitude, double radiusKm) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.radiusKm = radiusKm;
+    }
+
+    public static GeoArea of(Float latitude, Float longitude, Float radiusKm) {
+        if (latitude == null && longitude == null) return null;
+
+        if (latitude == null || longitude == null)
+            throw new InvalidRequestException("lat and lon must be passed together");
+        if (radiusKm == null) throw new InvalidRequestException("radius is required to search by location");
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM)
+            throw new InvalidRequestException(String.format("radius must be greater than 0 and not greater than %s km",
+                    MAX_RADIUS_KM));
+
+        return new GeoArea(latitude, longitude, radiusKm);
+    }
+
+    public static long cellOf(double latitude, double longitude) {
+        return (long) row(latitude) * COLUMNS + column(longitude);
+    }
+
+    public double distanceTo(double latitude, double longitude) {
+        double dLat = Math.toRadians(latitude - this.latitude);
+        double dLon = Math.toRadians(longitude - this.longitude);
+        double a = Math.pow(Math.sin(dLat / 2), 2) + Math.cos(Math.toRadians(this.latitude))
+                * Math.cos(Math.toRadians(latitude)) * Math.pow(Math.sin(dLon / 2), 2);
+
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * The haversine of the central angle of the radius: a point is within the area when the haversine of its
+     * central angle to the center doesn't exceed this value, which lets a database compare without asin and sqrt.
+     */
+    public double getMaxHaversine() {
+        return Math.pow(Math.sin(radiusKm / EARTH_RADIUS_KM / 2), 2);
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        return distanceTo(latitude, longitude) <= radiusKm;
+    }
+
+    public double getMinLatitude() {
+        return Math.max(-90, latitude - radiusKm / KM_PER_DEGREE);
+    }
+
+    public double getMaxLatitude() {
+        return Math.min(90, latitude + radiusKm / KM_PER_DEGREE);
+    }
+
+    public boolean isLongitudeBounded() {
+        return getMaxLatitude() < 90 && getMinLatitude() > -90 && longitude - longitudeDelta() >= -180
+                && longitude + longitudeDelta() <= 180;
+    }
+
+    public double getMinLongitude() {
+        return longitude - longitudeDelta();
+    }
+
+    public double getMaxLongitude() {
+        return longitude + longitudeDelta();
+    }
+
+    /**
+     * The cells covering the bounding box, or an empty list when there are more than {@code MAX_CELLS} of them
+     * (a radius above about 100 km) or the box crosses a pole or the antimeridian. Without cells the search
+     * relies on the bounding box, which is served by the (location_latitude, location_longitude) index.
+     */
+    public List<Long> getCells() {
+        if (!isLongitudeBounded()) return List.of();
+
+        int minRow = row(getMinLatitude());
+        int maxRow = row(getMaxLatitude());
+        int minColumn = column(getMinLongitude());
+        int maxColumn = column(getMaxLongitude());
+        if ((long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1) > MAX_CELLS) return List.of();
+
+        List<Long> cells = new ArrayList<>();
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) cells.add((long) row * COLUMNS + column);
+        }
+        return cells;
+    }
+
+    private double longitudeDelta() {
+        double farthestLatitude = Math.max(Math.abs(getMinLatitude()), Math.abs(getMaxLatitude()));
+        return radiusKm / (KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLatitude)));
+    }
+
+    private static int row(double latitude) {
+        return Math.min(ROWS - 1, (int) Math.floor((latitude + 90) / CELL_SIZE_DEGREES));
+    }
+
+    private static int column(double longitude) {
+        return Math.min(COLUMNS - 1, (int) Math.floor((longitude + 180) / CELL_SIZE_DEGREES));
+    }
+}
@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS idx_events_search ON events USING GIN ((
+    setweight(to_tsvector('simple', title), 'A') ||
+    setweight(to_tsvector('simple', annotation), 'B') ||
+    setweight(to_tsvector('simple', description), 'C')
+));
@@ -5,6 +5,7 @@ DROP TABLE IF EXISTS compilation CASCADE;
 DROP TABLE IF EXISTS compilation_event CASCADE;
 DROP TABLE IF EXISTS request_event CASCADE;
 DROP TABLE IF EXISTS users CASCADE;
+DROP TABLE IF EXISTS event_views CASCADE;
 DROP TABLE IF EXISTS events CASCADE;
 
 CREATE TABLE category_event (
@@ -27,6 +28,7 @@ CREATE TABLE events (
     initiator_id INT NOT NULL,
     location_latitude FLOAT(24) NOT NULL,
     location_longitude FLOAT(24) NOT NULL,
+    location_cell BIGINT NOT NULL,
     title VARCHAR(512) NOT NULL,
     created_on TIMESTAMP NOT NULL,
     description VARCHAR(1000) NOT NULL,
@@ -36,11 +38,27 @@ CREATE TABLE events (
     published_on TIMESTAMP,
     request_moderation BOOLEAN NOT NULL,
     state VARCHAR(64) NOT NULL DEFAULT 'PENDING',
+    confirmed_requests INT NOT NULL DEFAULT 0,
     CONSTRAINT pk_events PRIMARY KEY (event_id),
     FOREIGN KEY (category_id) REFERENCES category_event (category_id) ON DELETE CASCADE,
     FOREIGN KEY (initiator_id) REFERENCES users (user_id) ON DELETE CASCADE
 );
 
+CREATE INDEX idx_events_state_event_date ON events (state, event_date);
+CREATE INDEX idx_events_initiator ON events (initiator_id);
+CREATE INDEX idx_events_category ON events (category_id);
+CREATE INDEX idx_events_location_cell ON events (location_cell);
+CREATE INDEX idx_events_location ON events (location_latitude, location_longitude);
+
+CREATE TABLE event_views (
+    event_id INT NOT NULL,
+    views BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_event_views PRIMARY KEY (event_id),
+    FOREIGN KEY (event_id) REFERENCES events (event_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_event_views_views ON event_views (views);
+
 CREATE TABLE request_event (
     request_event_id INT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     event_id INT NOT NULL,
@@ -52,6 +70,9 @@ CREATE TABLE request_event (
     FOREIGN KEY (requester) REFERENCES users (user_id) ON DELETE CASCADE
 );
 
+CREATE INDEX idx_request_event_event_status ON request_event (event_id, status);
+CREATE INDEX idx_request_event_requester_event ON request_event (requester, event_id);
+
 CREATE TABLE request_moderation (
     request_moderation_id INT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     event_id INT NOT NULL,
@@ -0,0 +1,172 @@
+package ru.practicum.ewm;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.category.model.Category;
+import ru.practicum.ewm.client.event.EventStatClient;
+import ru.practicum.ewm.compilation.model.Compilation;
+import ru.practicum.ewm.compilation.shared.service.CompilationService;
+import ru.practicum.ewm.event.admin.service.EventAdminService;
+import ru.practicum.ewm.event.enums.State;
+import ru.practicum.ewm.event.enums.Status;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.personal.service.EventPersonalService;
+import ru.practicum.ewm.event.shared.service.EventService;
+import ru.practicum.ewm.request.model.Request;
+import ru.practicum.ewm.request.personal.service.RequestService;
+import ru.practicum.ewm.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@Transactional
+@SpringBootTest(
+        properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ListingStatementCountTest {
+    private static final int EVENTS = 5;
+    private final EntityManager em;
+    private final EventService eventService;
+    private final EventAdminService eventAdminService;
+    private final EventPersonalService eventPersonalService;
+    private final RequestService requestService;
+    private final CompilationService compilationService;
+    @MockBean
+    private final EventStatClient eventStatClient;
+    private Statistics statistics;
+    private User initiator;
+    private User requester;
+    private List<Event> events;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(eventStatClient.getStatisticOnViews(Mockito.anyList(), Mockito.anyBoolean()))
+                .thenReturn(new HashMap<>());
+
+        initiator = createUser();
+        requester = createUser();
+        events = new ArrayList<>();
+
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = createEvent(createUser());
+            events.add(event);
+            em.persist(Request.builder()
+                    .event(event)
+                    .requester(requester)
+                    .status(Status.PENDING)
+                    .build());
+        }
+        events.add(createEvent(initiator));
+
+        for (int i = 0; i < 3; i++) {
+            em.persist(Compilation.builder()
+                    .title("compilation " + i)
+                    .pinned(true)
+                    .events(new ArrayList<>(events))
+                    .build());
+        }
+
+        em.flush();
+        em.clear();
+
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getEventsSortedByDateExecutesOneStatement() {
+        eventService.getEvents(null, null, null, null, null, false, null, "EVENT_DATE", 0, 100, null);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    void getEventsSortedByViewsExecutesOneStatement() {
+        eventService.getEvents(null, null, null, null, null, false, null, "VIEWS", 0, 100, null);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    void getAdminEventsExecutesOneStatement() {
+        eventAdminService.getEvents(null, new String[] {"PUBLISHED"}, null, null, null, 0, 100, null);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    void getInitiatorEventsExecutesOneStatement() {
+        eventPersonalService.getEvents(initiator.getId(), 0, 100);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    void getRequesterRequestsExecutesOneStatement() {
+        requestService.getRequests(requester.getId());
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    void getEventRequestsExecutesTwoStatements() {
+        Event event = events.get(0);
+
+        eventPersonalService.getRequests(event.getInitiator().getId(), event.getId());
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void getCompilationsExecutesTwoStatements() {
+        compilationService.getCompilations(true, 0, 100, null);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    private Event createEvent(User owner) {
+        Event event = Event.builder()
+                .annotation("annotation of the event")
+                .description("description of the event")
+                .title("title")
+                .category(createCategory())
+                .initiator(owner)
+                .eventDate(LocalDateTime.now().plusDays(5))
+                .state(State.PUBLISHED)
+                .build();
+        em.persist(event);
+        return event;
+    }
+
+    private Category createCategory() {
+        Category category = Category.builder()
+                .name("category " + System.nanoTime())
+                .build();
+        em.persist(category);
+        return category;
+    }
+
+    private User createUser() {
+        User user = User.builder()
+                .name("User")
+                .email(String.format("user%s@mail.ru", System.nanoTime()))
+                .build();
+        em.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.ewm.client;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void whenFailuresReachThresholdThenOpenAndRejectCalls() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(createProperties(2), now::get);
+
+        fail(circuitBreaker);
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+        fail(circuitBreaker);
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+
+        Assertions.assertThrows(StatServerUnavailableException.class, () -> circuitBreaker.execute(this::succeed));
+
+        assertThat(calls.get(), equalTo(2));
+        assertThat(circuitBreaker.getRejected(), equalTo(1L));
+    }
+
+    @Test
+    void whenOpenDurationElapsedAndTrialSucceedsThenClose() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(createProperties(1), now::get);
+        fail(circuitBreaker);
+
+        now.set(1000);
+
+        assertThat(circuitBreaker.execute(this::succeed), equalTo("ok"));
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    void whenOpenDurationElapsedAndTrialFailsThenOpenAgain() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(createProperties(5), now::get);
+        for (int i = 0; i < 5; i++) fail(circuitBreaker);
+
+        now.set(1000);
+        fail(circuitBreaker);
+
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+        Assertions.assertThrows(StatServerUnavailableException.class, () -> circuitBreaker.execute(this::succeed));
+    }
+
+    @Test
+    void whenSuccessThenResetFailures() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(createProperties(2), now::get);
+
+        fail(circuitBreaker);
+        circuitBreaker.execute(this::succeed);
+        fail(circuitBreaker);
+
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    void whenDisabledThenNeverOpen() {
+        CircuitBreakerProperties properties = createProperties(1);
+        properties.setEnabled(false);
+        CircuitBreaker circuitBreaker = new CircuitBreaker(properties, now::get);
+
+        fail(circuitBreaker);
+        fail(circuitBreaker);
+
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    private void fail(CircuitBreaker circuitBreaker) {
+        Assertions.assertThrows(ResourceAccessException.class, () -> circuitBreaker.execute(() -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("Read timed out");
+        }));
+    }
+
+    private String succeed() {
+        calls.incrementAndGet();
+        return "ok";
+    }
+
+    private CircuitBreakerProperties createProperties(int failureThreshold) {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setFailureThreshold(failureThreshold);
+        properties.setOpenDurationMs(1000);
+        return properties;
+    }
+}
@@ -0,0 +1,164 @@
+package ru.practicum.ewm.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.ewm.client.dto.HitDto;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HitBufferTest {
+    private final List<List<HitDto>> sent = new CopyOnWriteArrayList<>();
+    private HitBuffer hitBuffer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        hitBuffer.stop();
+    }
+
+    @Test
+    void whenBufferReachesBatchSizeThenSendBatch() throws InterruptedException {
+        hitBuffer = new HitBuffer(createProperties(10, 60_000, HitBufferProperties.OverflowPolicy.DROP, null),
+                batch -> sent.add(List.copyOf(batch)));
+        hitBuffer.start();
+
+        IntStream.range(0, 10).forEach(iteration -> hitBuffer.add(createHit(iteration)));
+
+        awaitSent(1);
+        assertThat(sent.get(0).size(), equalTo(10));
+        assertThat(hitBuffer.getPending(), equalTo(0));
+    }
+
+    @Test
+    void whenFlushIntervalElapsedThenSendPartialBatch() throws InterruptedException {
+        hitBuffer = new HitBuffer(createProperties(50, 100, HitBufferProperties.OverflowPolicy.DROP, null),
+                batch -> sent.add(List.copyOf(batch)));
+        hitBuffer.start();
+
+        IntStream.range(0, 3).forEach(iteration -> hitBuffer.add(createHit(iteration)));
+
+        awaitSent(1);
+        assertThat(sent.get(0).size(), equalTo(3));
+    }
+
+    @Test
+    void whenBufferIsFullAndOverflowIsDropThenDropHits() {
+        HitBufferProperties properties = createProperties(10, 60_000, HitBufferProperties.OverflowPolicy.DROP, null);
+        properties.setCapacity(2);
+        hitBuffer = new HitBuffer(properties, batch -> sent.add(List.copyOf(batch)));
+
+        IntStream.range(0, 5).forEach(iteration -> hitBuffer.add(createHit(iteration)));
+
+        assertThat(hitBuffer.getPending(), equalTo(2));
+        assertThat(hitBuffer.getDropped(), equalTo(3L));
+    }
+
+    @Test
+    void whenSendingFailsAndOverflowIsSpillThenReplaySpilledHitsLater(@TempDir Path directory) {
+        Path spillFile = directory.resolve("hits.ndjson");
+        AtomicBoolean available = new AtomicBoolean(false);
+        hitBuffer = new HitBuffer(createProperties(10, 60_000, HitBufferProperties.OverflowPolicy.SPILL,
+                spillFile), batch -> available.get() && sent.add(List.copyOf(batch)));
+
+        IntStream.range(0, 4).forEach(iteration -> hitBuffer.add(createHit(iteration)));
+        hitBuffer.flush();
+
+        assertTrue(Files.exists(spillFile));
+        assertTrue(sent.isEmpty());
+        assertThat(hitBuffer.getDropped(), equalTo(0L));
+
+        available.set(true);
+        hitBuffer.flush();
+
+        assertFalse(Files.exists(spillFile));
+        assertThat(sent.size(), equalTo(1));
+        assertThat(sent.get(0), equalTo(IntStream.range(0, 4).mapToObj(this::createHit).collect(
+                Collectors.toList())));
+    }
+
+    @Test
+    void whenAddedAfterStopThenSendDirectly() throws InterruptedException {
+        hitBuffer = new HitBuffer(createProperties(1, 60_000, HitBufferProperties.OverflowPolicy.DROP, null),
+                batch -> sent.add(List.copyOf(batch)));
+        hitBuffer.start();
+        hitBuffer.stop();
+
+        hitBuffer.add(createHit(1));
+
+        assertThat(sent, equalTo(List.of(List.of(createHit(1)))));
+        assertThat(hitBuffer.getPending(), equalTo(0));
+    }
+
+    @Test
+    void whenSendingFailsAndOverflowIsDropThenRetryBatchWithNextFlush() {
+        AtomicBoolean available = new AtomicBoolean(false);
+        hitBuffer = new HitBuffer(createProperties(10, 60_000, HitBufferProperties.OverflowPolicy.DROP, null),
+                batch -> available.get() && sent.add(List.copyOf(batch)));
+
+        IntStream.range(0, 4).forEach(iteration -> hitBuffer.add(createHit(iteration)));
+        hitBuffer.flush();
+
+        assertThat(hitBuffer.getPending(), equalTo(4));
+        assertThat(hitBuffer.getDropped(), equalTo(0L));
+
+        available.set(true);
+        hitBuffer.flush();
+
+        assertThat(hitBuffer.getPending(), equalTo(0));
+        assertThat(sent, equalTo(List.of(IntStream.range(0, 4).mapToObj(this::createHit).collect(
+                Collectors.toList()))));
+    }
+
+    @Test
+    void whenFinalFlushFailsAndOverflowIsDropThenCountDroppedHits() throws InterruptedException {
+        hitBuffer = new HitBuffer(createProperties(10, 60_000, HitBufferProperties.OverflowPolicy.DROP, null),
+                batch -> false);
+        hitBuffer.start();
+
+        IntStream.range(0, 3).forEach(iteration -> hitBuffer.add(createHit(iteration)));
+        hitBuffer.stop();
+
+        assertThat(hitBuffer.getPending(), equalTo(0));
+        assertThat(hitBuffer.getDropped(), equalTo(3L));
+    }
+
+    private void awaitSent(int batches) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sent.size() < batches && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(sent.size(), equalTo(batches));
+    }
+
+    private HitBufferProperties createProperties(int batchSize, long flushIntervalMs,
+                                                 HitBufferProperties.OverflowPolicy overflow, Path spillFile) {
+        HitBufferProperties properties = new HitBufferProperties();
+        properties.setBatchSize(batchSize);
+        properties.setFlushIntervalMs(flushIntervalMs);
+        properties.setOverflow(overflow);
+        if (spillFile != null) properties.setSpillFile(spillFile.toString());
+        return properties;
+    }
+
+    private HitDto createHit(int iteration) {
+        return HitDto.builder()
+                .app("ewm-main-service")
+                .uri("/events/" + iteration)
+                .ip("0.0.0.0.0.1")
+                .timestamp(LocalDateTime.of(2022, 10, 10, 10, 10, 10))
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.ewm.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class StatHttpClientTest {
+    private StatHttpClient httpClient;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+    }
+
+    @Test
+    void whenCreateThenPoolIsSizedFromProperties() {
+        StatHttpClientProperties properties = new StatHttpClientProperties();
+        properties.setMaxTotal(8);
+        properties.setMaxPerRoute(4);
+
+        httpClient = new StatHttpClient(properties, 1000, 2000);
+
+        assertThat(httpClient.getPoolStats().getMax(), equalTo(8));
+        assertThat(httpClient.getPoolStats().getLeased(), equalTo(0));
+    }
+
+    @Test
+    void whenRegisterMetricsThenExposePoolUtilization() {
+        StatHttpClientProperties properties = new StatHttpClientProperties();
+        properties.setMaxTotal(8);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        httpClient = new StatHttpClient(properties, 1000, 2000);
+
+        httpClient.registerMetrics(meterRegistry);
+
+        assertThat(meterRegistry.get("stats.client.pool.connections").tag("state", "max").gauge().value(),
+                equalTo(8.0));
+        assertThat(meterRegistry.get("stats.client.pool.connections").gauges().size(), equalTo(4));
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.ewm.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ViewCacheTest {
+    private final List<Collection<Long>> loaded = new ArrayList<>();
+    private final AtomicLong hits = new AtomicLong(10);
+    private final AtomicBoolean unavailable = new AtomicBoolean();
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void whenViewsAreCachedThenLoadOnlyMissedEvents() {
+        ViewCache viewCache = new ViewCache(createProperties(false, 100), this::load);
+
+        viewCache.get(List.of(1L, 2L));
+        Map<Long, Long> views = viewCache.get(List.of(1L, 2L, 3L));
+
+        assertThat(views, equalTo(Map.of(1L, 10L, 2L, 10L, 3L, 10L)));
+        assertThat(loaded, equalTo(List.of(List.of(1L, 2L), List.of(3L))));
+    }
+
+    @Test
+    void whenRefreshThenReloadCachedEventsInBatches() {
+        ViewCache viewCache = new ViewCache(createProperties(false, 2), this::load);
+        viewCache.get(List.of(1L, 2L, 3L));
+        loaded.clear();
+        hits.set(20);
+
+        viewCache.refresh();
+
+        assertThat(loaded.size(), equalTo(2));
+        assertThat(viewCache.get(List.of(1L, 2L, 3L)), equalTo(Map.of(1L, 20L, 2L, 20L, 3L, 20L)));
+        assertThat(loaded.size(), equalTo(2));
+    }
+
+    @Test
+    void whenMaxEntriesIsReachedThenEvictLeastRecentlyReadEvent() {
+        ViewCacheProperties properties = createProperties(false, 100);
+        properties.setMaxEntries(2);
+        ViewCache viewCache = new ViewCache(properties, this::load, now::get);
+        viewCache.get(List.of(1L, 2L));
+        viewCache.get(List.of(1L));
+        loaded.clear();
+
+        viewCache.get(List.of(3L));
+        viewCache.get(List.of(1L, 3L));
+
+        assertThat(viewCache.getSize(), equalTo(2));
+        assertThat(loaded, equalTo(List.of(List.of(3L))));
+
+        viewCache.get(List.of(2L));
+
+        assertThat(loaded, equalTo(List.of(List.of(3L), List.of(2L))));
+    }
+
+    @Test
+    void whenRefreshThenExpireEventsNotReadRecently() {
+        ViewCacheProperties properties = createProperties(false, 100);
+        properties.setExpireAfterReadMs(1000);
+        ViewCache viewCache = new ViewCache(properties, this::load, now::get);
+        viewCache.get(List.of(1L, 2L));
+        now.set(800);
+        viewCache.get(List.of(2L));
+        now.set(1500);
+        loaded.clear();
+
+        viewCache.refresh();
+
+        assertThat(loaded, equalTo(List.of(List.of(2L))));
+        assertThat(viewCache.getSize(), equalTo(1));
+    }
+
+    @Test
+    void whenRefreshFailsThenKeepCachedViews() {
+        ViewCache viewCache = new ViewCache(createProperties(false, 100), this::load);
+        viewCache.get(List.of(1L));
+        unavailable.set(true);
+
+        viewCache.refresh();
+
+        assertThat(viewCache.get(List.of(1L)), equalTo(Map.of(1L, 10L)));
+    }
+
+    @Test
+    void whenLoadFailsThenReturnZeroViewsWithoutCaching() {
+        ViewCache viewCache = new ViewCache(createProperties(false, 100), this::load);
+        unavailable.set(true);
+
+        assertThat(viewCache.get(List.of(1L)), equalTo(Map.of(1L, 0L)));
+        assertThat(viewCache.getSize(), equalTo(0));
+    }
+
+    @Test
+    void whenCountHitsThenIncrementCachedViews() {
+        ViewCache viewCache = new ViewCache(createProperties(true, 100), this::load);
+        viewCache.get(List.of(1L));
+
+        viewCache.increment(1L);
+        viewCache.increment(2L);
+
+        assertThat(viewCache.get(List.of(1L)), equalTo(Map.of(1L, 11L)));
+        assertThat(viewCache.getSize(), equalTo(1));
+    }
+
+    @Test
+    void whenHitsAreNotCountedThenNeverIncrementCachedViews() {
+        ViewCache viewCache = new ViewCache(createProperties(false, 100), this::load);
+        viewCache.get(List.of(1L));
+
+        viewCache.increment(1L);
+
+        assertThat(viewCache.get(List.of(1L)), equalTo(Map.of(1L, 10L)));
+    }
+
+    private Map<Long, Long> load(Collection<Long> eventIds) {
+        if (unavailable.get()) throw new ResourceAccessException("stats-server is unavailable");
+
+        loaded.add(List.copyOf(eventIds));
+        Map<Long, Long> views = new HashMap<>();
+        eventIds.forEach(eventId -> views.put(eventId, hits.get()));
+        return views;
+    }
+
+    private ViewCacheProperties createProperties(boolean countHits, int refreshBatchSize) {
+        ViewCacheProperties properties = new ViewCacheProperties();
+        properties.setCountHits(countHits);
+        properties.setRefreshBatchSize(refreshBatchSize);
+        return properties;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.ewm.client.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.boot.test.json.JsonContent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+@JsonTest
+class ViewQueryDtoTest {
+    @Autowired
+    JacksonTester<ViewQueryDto> json;
+
+    @Test
+    void testViewQueryDto() throws IOException {
+        ViewQueryDto query = ViewQueryDto.builder()
+                .start(LocalDateTime.of(2000, 1, 1, 0, 0))
+                .end(LocalDateTime.of(2022, 10, 10, 10, 10, 10))
+                .app("ewm-main-service")
+                .uriPrefix("http://localhost:8080/events/")
+                .ids(List.of(1L, 2L))
+                .unique(true)
+                .build();
+
+        JsonContent<ViewQueryDto> result = json.write(query);
+
+        assertThat(result).extractingJsonPathStringValue("$.start").isEqualTo("2000-01-01 00:00:00");
+        assertThat(result).extractingJsonPathStringValue("$.end").isEqualTo("2022-10-10 10:10:10");
+        assertThat(result).extractingJsonPathStringValue("$.uriPrefix").isEqualTo("http://localhost:8080/events/");
+        assertThat(result).extractingJsonPathArrayValue("$.ids").hasSize(2);
+        assertThat(result).extractingJsonPathBooleanValue("$.unique").isEqualTo(true);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.ewm.client.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import ru.practicum.ewm.client.CircuitBreakerProperties;
+import ru.practicum.ewm.client.HitBufferProperties;
+import ru.practicum.ewm.client.StatHttpClientProperties;
+import ru.practicum.ewm.client.ViewCacheProperties;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class EventStatClientTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventStatClient eventStatClient;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        eventStatClient.stopHitBuffer();
+    }
+
+    @Test
+    void whenBufferedHitsAreDroppedThenCountThemAsHitFallbacks() {
+        HitBufferProperties hitBufferProperties = new HitBufferProperties();
+        hitBufferProperties.setCapacity(2);
+        ViewCacheProperties viewCacheProperties = new ViewCacheProperties();
+        viewCacheProperties.setCached(false);
+        eventStatClient = new EventStatClient("http://localhost:9090", 100, 100, new RestTemplateBuilder(),
+                new StatHttpClientProperties(), hitBufferProperties, viewCacheProperties,
+                new CircuitBreakerProperties(), meterRegistry, "2000-01-01 00:00:00");
+
+        IntStream.range(0, 5).forEach(iteration -> eventStatClient.sendViewToStatsServer(createRequest(iteration)));
+
+        assertThat(meterRegistry.get("stats.client.fallbacks").tag("operation", "hits").functionCounter().count(),
+                equalTo(3.0));
+        assertThat(meterRegistry.get("stats.client.hits.pending").gauge().value(), equalTo(2.0));
+    }
+
+    private MockHttpServletRequest createRequest(int iteration) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events/" + iteration);
+        request.setRemoteAddr("192.168.0.1");
+        return request;
+    }
+}
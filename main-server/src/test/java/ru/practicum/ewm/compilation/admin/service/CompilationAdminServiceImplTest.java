@@ -136,11 +136,8 @@ class CompilationAdminServiceImplTest {
         Mockito.when(eventStatClient.getStatisticOnViews(List.of(eventFirst, eventSecond), true))
                 .thenReturn(new HashMap<>());
 
-        Mockito.when(requestRepository.countByEventIdAndStatus(2, Status.CONFIRMED))
-                .thenReturn(2L);
-
-        Mockito.when(requestRepository.countByEventId(3))
-                .thenReturn(15L);
+        eventFirst.setConfirmedRequests(2);
+        eventSecond.setConfirmedRequests(15);
 
         CompilationOutDto saved = compilationAdminService.createCompilation(compilationIn);
 
@@ -171,18 +168,6 @@ class CompilationAdminServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.times(1))
                 .getStatisticOnViews(List.of(eventFirst, eventSecond), true);
-
-        Mockito.verify(requestRepository, Mockito.times(1))
-                .countByEventIdAndStatus(2, Status.CONFIRMED);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(2);
-
-        Mockito.verify(requestRepository, Mockito.times(1))
-                .countByEventId(3);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(3, Status.CONFIRMED);
     }
 
     @Test
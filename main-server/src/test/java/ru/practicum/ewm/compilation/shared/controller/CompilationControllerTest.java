@@ -68,7 +68,7 @@ class CompilationControllerTest {
     @Test
     void getCompilationsStatusIsOk() throws Exception {
         Mockito
-                .when(compilationService.getCompilations(true, 0, 10))
+                .when(compilationService.getCompilations(true, 0, 10, null))
                 .thenReturn(List.of(compilationOut));
 
         mockMvc.perform(get("/compilations?pinned=true")
@@ -10,6 +10,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
 import ru.practicum.ewm.category.model.Category;
 import ru.practicum.ewm.category.model.dto.CategoryOutDto;
 import ru.practicum.ewm.client.event.EventStatClient;
@@ -28,6 +29,7 @@ import ru.practicum.ewm.util.Pagination;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -126,69 +128,105 @@ class CompilationServiceImplTest {
     void whenGetCompilationsIfPinnedIsNullThenCallFindAllRepository() {
         Page<Compilation> compilations = new PageImpl<>(List.of(compilation));
 
-        Mockito.when(compilationRepository.findAll(Pagination.of(0, 10)))
+        Mockito.when(compilationRepository.findAll(Pagination.of(0, 10, Sort.by("id"))))
                 .thenReturn(compilations);
 
-        List<CompilationOutDto> compilationOuts = compilationService.getCompilations(null, 0, 10);
+        Mockito.when(compilationRepository.findDistinctByIdIn(List.of(compilation.getId()), Sort.by("id")))
+                .thenReturn(List.of(compilation));
+
+        List<CompilationOutDto> compilationOuts = compilationService.getCompilations(null, 0, 10, null);
 
         assertThat(compilationOuts.size(), equalTo(1));
         assertThat(compilationOuts.get(0), equalTo(CompilationMapper.toCompilationOut(compilation,
                 List.of(eventFirstOut, eventSecondOut))));
 
         Mockito.verify(compilationRepository, Mockito.times(1))
-                .findAll(Pagination.of(0, 10));
+                .findAll(Pagination.of(0, 10, Sort.by("id")));
 
         Mockito.verify(compilationRepository, Mockito.never())
-                .findAllByPinnedTrue(Pagination.of(0, 10));
+                .findAllByPinnedTrue(Pagination.of(0, 10, Sort.by("id")));
 
         Mockito.verify(compilationRepository, Mockito.never())
-                .findAllByPinnedFalse(Pagination.of(0, 10));
+                .findAllByPinnedFalse(Pagination.of(0, 10, Sort.by("id")));
+    }
+
+    @Test
+    void whenGetCompilationsThenFetchViewsOnceForAllEvents() {
+        Compilation another = Compilation.builder()
+                .id(4L)
+                .events(List.of(eventSecond))
+                .pinned(true)
+                .title("another title")
+                .build();
+
+        Mockito.when(compilationRepository.findAll(Pagination.of(0, 10, Sort.by("id"))))
+                .thenReturn(new PageImpl<>(List.of(compilation, another)));
+
+        Mockito.when(compilationRepository.findDistinctByIdIn(List.of(3L, 4L), Sort.by("id")))
+                .thenReturn(List.of(compilation, another));
+
+        Mockito.when(eventStatClient.getStatisticOnViews(List.of(eventFirst, eventSecond), true))
+                .thenReturn(Map.of(3L, 8L));
+
+        List<CompilationOutDto> compilationOuts = compilationService.getCompilations(null, 0, 10, null);
+
+        assertThat(compilationOuts.size(), equalTo(2));
+        assertThat(compilationOuts.get(1).getEvents().get(0).getViews(), equalTo(8L));
+
+        Mockito.verify(eventStatClient, Mockito.times(1))
+                .getStatisticOnViews(Mockito.anyList(), Mockito.anyBoolean());
     }
 
     @Test
     void whenGetCompilationsIfPinnedThenCallFindAllByPinnedTrueRepository() {
         Page<Compilation> compilations = new PageImpl<>(List.of(compilation));
 
-        Mockito.when(compilationRepository.findAllByPinnedTrue(Pagination.of(0, 10)))
+        Mockito.when(compilationRepository.findAllByPinnedTrue(Pagination.of(0, 10, Sort.by("id"))))
                 .thenReturn(compilations);
 
-        List<CompilationOutDto> compilationOuts = compilationService.getCompilations(true, 0, 10);
+        Mockito.when(compilationRepository.findDistinctByIdIn(List.of(compilation.getId()), Sort.by("id")))
+                .thenReturn(List.of(compilation));
+
+        List<CompilationOutDto> compilationOuts = compilationService.getCompilations(true, 0, 10, null);
 
         assertThat(compilationOuts.size(), equalTo(1));
         assertThat(compilationOuts.get(0), equalTo(CompilationMapper.toCompilationOut(compilation,
                 List.of(eventFirstOut, eventSecondOut))));
 
         Mockito.verify(compilationRepository, Mockito.times(1))
-                .findAllByPinnedTrue(Pagination.of(0, 10));
+                .findAllByPinnedTrue(Pagination.of(0, 10, Sort.by("id")));
 
         Mockito.verify(compilationRepository, Mockito.never())
-                .findAll(Pagination.of(0, 10));
+                .findAll(Pagination.of(0, 10, Sort.by("id")));
 
         Mockito.verify(compilationRepository, Mockito.never())
-                .findAllByPinnedFalse(Pagination.of(0, 10));
+                .findAllByPinnedFalse(Pagination.of(0, 10, Sort.by("id")));
     }
 
     @Test
     void whenGetCompilationsIfNotPinnedThenCallFindAllByPinnedFalseRepository() {
         Page<Compilation> compilations = new PageImpl<>(List.of(compilation));
 
-        Mockito.when(compilationRepository.findAllByPinnedFalse(Pagination.of(0, 10)))
+        Mockito.when(compilationRepository.findAllByPinnedFalse(Pagination.of(0, 10, Sort.by("id"))))
                 .thenReturn(compilations);
 
-        List<CompilationOutDto> compilationOuts = compilationService.getCompilations(false, 0, 10);
+        Mockito.when(compilationRepository.findDistinctByIdIn(List.of(compilation.getId()), Sort.by("id")))
+                .thenReturn(List.of(compilation));
+
+        List<CompilationOutDto> compilationOuts = compilationService.getCompilations(false, 0, 10, null);
 
         assertThat(compilationOuts.size(), equalTo(1));
         assertThat(compilationOuts.get(0), equalTo(CompilationMapper.toCompilationOut(compilation,
                 List.of(eventFirstOut, eventSecondOut))));
 
         Mockito.verify(compilationRepository, Mockito.times(1))
-                .findAllByPinnedFalse(Pagination.of(0, 10));
+                .findAllByPinnedFalse(Pagination.of(0, 10, Sort.by("id")));
 
         Mockito.verify(compilationRepository, Mockito.never())
-                .findAll(Pagination.of(0, 10));
+                .findAll(Pagination.of(0, 10, Sort.by("id")));
 
         Mockito.verify(compilationRepository, Mockito.never())
-                .findAllByPinnedTrue(Pagination.of(0, 10));
+                .findAllByPinnedTrue(Pagination.of(0, 10, Sort.by("id")));
     }
 
     @Test
@@ -207,17 +245,5 @@ class CompilationServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(List.of(eventFirst, eventSecond), false);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(2, Status.CONFIRMED);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(2);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(3);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(3, Status.CONFIRMED);
     }
 }
\ No newline at end of file
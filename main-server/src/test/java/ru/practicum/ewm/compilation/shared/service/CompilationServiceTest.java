@@ -75,8 +75,8 @@ class CompilationServiceTest {
         CompilationOutDto compilation3 = compilationAdminService.createCompilation(pinned3);
         CompilationOutDto compilation4 = compilationAdminService.createCompilation(pinned4);
 
-        List<CompilationOutDto> pinnedCompilations = compilationService.getCompilations(true, 0, 10);
-        List<CompilationOutDto> notPinnedCompilations = compilationService.getCompilations(false, 0, 10);
+        List<CompilationOutDto> pinnedCompilations = compilationService.getCompilations(true, 0, 10, null);
+        List<CompilationOutDto> notPinnedCompilations = compilationService.getCompilations(false, 0, 10, null);
 
         assertThat(pinnedCompilations.size(), equalTo(2));
         assertThat(pinnedCompilations.get(0), equalTo(compilation));
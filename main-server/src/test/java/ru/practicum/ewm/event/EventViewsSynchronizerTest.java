@@ -0,0 +1,107 @@
+package ru.practicum.ewm.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.ewm.client.event.EventStatClient;
+import ru.practicum.ewm.event.enums.State;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.model.EventViews;
+import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.repository.EventViewsRepository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+@ExtendWith(MockitoExtension.class)
+class EventViewsSynchronizerTest {
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private EventViewsRepository eventViewsRepository;
+    @Mock
+    private EventStatClient eventStatClient;
+    private EventViewsSynchronizer synchronizer;
+
+    @BeforeEach
+    void setUp() {
+        synchronizer = new EventViewsSynchronizer(eventRepository, eventViewsRepository, eventStatClient, 100);
+        Mockito.when(eventViewsRepository.saveAll(Mockito.anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void whenFirstRunThenSynchronizeAllPublishedEvents() {
+        Mockito.when(eventRepository.findAllByState(Mockito.eq(State.PUBLISHED), Mockito.any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(createEvent(1L), createEvent(2L))));
+        Mockito.when(eventStatClient.loadStatisticOnViews(List.of(1L, 2L))).thenReturn(Map.of(1L, 7L));
+
+        synchronizer.synchronize();
+
+        Mockito.verify(eventViewsRepository).saveAll(List.of(new EventViews(1L, 7L), new EventViews(2L, 0L)));
+    }
+
+    @Test
+    void whenLaterRunsThenSynchronizeOnlyEventsViewedInTwoLastRuns() {
+        Mockito.when(eventRepository.findAllByState(Mockito.eq(State.PUBLISHED), Mockito.any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+        Mockito.when(eventStatClient.drainViewedEventIds())
+                .thenReturn(new HashSet<>(), Set.of(1L, 2L), Set.of(3L), Set.of());
+        Mockito.when(eventRepository.findIdsByIdInAndState(Mockito.anyCollection(), Mockito.eq(State.PUBLISHED)))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<Long>>getArgument(0)));
+        Mockito.when(eventStatClient.loadStatisticOnViews(Mockito.anyCollection())).thenReturn(Map.of());
+
+        synchronizer.synchronize();
+        synchronizer.synchronize();
+        synchronizer.synchronize();
+        synchronizer.synchronize();
+
+        ArgumentCaptor<Collection<Long>> eventIds = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(eventStatClient, Mockito.times(3)).loadStatisticOnViews(eventIds.capture());
+        assertThat(eventIds.getAllValues().get(0), containsInAnyOrder(1L, 2L));
+        assertThat(eventIds.getAllValues().get(1), containsInAnyOrder(1L, 2L, 3L));
+        assertThat(eventIds.getAllValues().get(2), containsInAnyOrder(3L));
+        Mockito.verify(eventRepository, Mockito.times(1))
+                .findAllByState(Mockito.eq(State.PUBLISHED), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    void whenStatisticServerFailsThenRetryViewedEventsNextRun() {
+        Mockito.when(eventRepository.findAllByState(Mockito.eq(State.PUBLISHED), Mockito.any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+        Mockito.when(eventStatClient.drainViewedEventIds())
+                .thenReturn(new HashSet<>(), Set.of(1L), Set.of());
+        Mockito.when(eventRepository.findIdsByIdInAndState(Mockito.anyCollection(), Mockito.eq(State.PUBLISHED)))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<Long>>getArgument(0)));
+        Mockito.when(eventStatClient.loadStatisticOnViews(List.of(1L)))
+                .thenThrow(new ResourceAccessException("stats-server is unavailable"))
+                .thenReturn(Map.of(1L, 3L));
+
+        synchronizer.synchronize();
+        synchronizer.synchronize();
+        synchronizer.synchronize();
+
+        Mockito.verify(eventViewsRepository).saveAll(List.of(new EventViews(1L, 3L)));
+        Mockito.verify(eventStatClient, Mockito.times(2)).loadStatisticOnViews(List.of(1L));
+    }
+
+    private Event createEvent(long id) {
+        return Event.builder()
+                .id(id)
+                .state(State.PUBLISHED)
+                .build();
+    }
+}
@@ -105,7 +105,7 @@ class EventAdminControllerTest {
     void getEventsStatusIsOk() throws Exception {
         Mockito
                 .when(eventAdminService.getEvents(null, null, null, null,
-                        null, 0, 10))
+                        null, 0, 10, null))
                 .thenReturn(List.of(eventFullOut));
 
         mockMvc.perform(get("/admin/events")
@@ -175,7 +175,7 @@ class EventAdminControllerTest {
     void getEventsIfInvalidStatesParamThenStatusIsBadRequest() throws Exception {
         Mockito
                 .when(eventAdminService.getEvents(null, new String[]{"PUBLISHED", "NOT"}, null,
-                        null, null, 0, 10))
+                        null, null, 0, 10, null))
                 .thenThrow(new InvalidRequestException("state is unsupported: NOT"));
 
         mockMvc.perform(get("/admin/events?states=PUBLISHED&states=NOT")
@@ -195,7 +195,7 @@ class EventAdminControllerTest {
     void getEventsIfInvalidEncodedDateTimeParamThenStatusIsBadRequest() throws Exception {
         Mockito
                 .when(eventAdminService.getEvents(null, null, null,
-                        "20XX-19-18YY22:22:22", null, 0, 10))
+                        "20XX-19-18YY22:22:22", null, 0, 10, null))
                 .thenThrow(new InvalidRequestException("there is a problem with decoding the date time parameter"));
 
         mockMvc.perform(get("/admin/events?rangeStart=20XX-19-18YY22:22:22")
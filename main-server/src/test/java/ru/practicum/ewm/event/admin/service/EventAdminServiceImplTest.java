@@ -29,6 +29,8 @@ import ru.practicum.ewm.event.model.mapper.CommentMapper;
 import ru.practicum.ewm.event.model.mapper.EventMapper;
 import ru.practicum.ewm.event.repository.CommentRepository;
 import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.shared.service.EventSearchCache;
+import ru.practicum.ewm.event.shared.service.EventSearchIndex;
 import ru.practicum.ewm.request.repository.RequestRepository;
 import ru.practicum.ewm.user.model.User;
 import ru.practicum.ewm.util.Pagination;
@@ -57,6 +59,10 @@ class EventAdminServiceImplTest {
     private CategoryRepository categoryRepository;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private EventSearchCache eventSearchCache;
+    @Mock
+    private EventSearchIndex eventSearchIndex;
     private static Event eventFirst;
     private static Event eventSecond;
     private static EventAdminChangedDto changedDto;
@@ -117,11 +123,10 @@ class EventAdminServiceImplTest {
         Mockito.when(eventStatClient.getStatisticOnViews(List.of(eventFirst), true))
                 .thenReturn(views);
 
-        Mockito.when(requestRepository.countByEventIdAndStatus(2, Status.CONFIRMED))
-                .thenReturn(2L);
+        eventFirst.setConfirmedRequests(2);
 
         List<EventOutDto> found = eventAdminService.getEvents(null, null, null, null,
-                null, 0, 10);
+                null, 0, 10, null);
 
         assertThat(found.size(), equalTo(2));
         assertThat(found.get(0), equalTo(EventMapper.toEventFull(eventFirst, 2, 100)));
@@ -132,15 +137,6 @@ class EventAdminServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.times(1))
                 .getStatisticOnViews(List.of(eventFirst), true);
-
-        Mockito.verify(requestRepository, Mockito.times(1))
-                .countByEventIdAndStatus(2, Status.CONFIRMED);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(Mockito.anyLong());
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(3, Status.CONFIRMED);
     }
 
     @Test
@@ -156,11 +152,10 @@ class EventAdminServiceImplTest {
         Mockito.when(eventStatClient.getStatisticOnViews(List.of(eventFirst), true))
                 .thenReturn(views);
 
-        Mockito.when(requestRepository.countByEventIdAndStatus(2, Status.CONFIRMED))
-                .thenReturn(15L);
+        eventFirst.setConfirmedRequests(15);
 
         List<EventOutDto> found = eventAdminService.getEvents(new int[]{1, 2}, new String[]{"PUBLISHED", "PENDING"},
-                null, null, null, 0, 10);
+                null, null, null, 0, 10, null);
 
         assertThat(found.size(), equalTo(2));
         assertThat(found.get(0), equalTo(EventMapper.toEventFull(eventFirst, 15, 100)));
@@ -174,15 +169,6 @@ class EventAdminServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.times(1))
                 .getStatisticOnViews(List.of(eventFirst), true);
-
-        Mockito.verify(requestRepository, Mockito.times(1))
-                .countByEventIdAndStatus(2, Status.CONFIRMED);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(Mockito.anyLong());
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(3, Status.CONFIRMED);
     }
 
     @Test
@@ -196,8 +182,7 @@ class EventAdminServiceImplTest {
         Mockito.when(eventStatClient.getStatisticOnViews(List.of(eventFirst), true))
                 .thenReturn(new HashMap<>());
 
-        Mockito.when(requestRepository.countByEventIdAndStatus(2, Status.CONFIRMED))
-                .thenReturn(2L);
+        eventFirst.setConfirmedRequests(2);
 
         Category newCategory = Category.builder()
                 .id(5L)
@@ -220,12 +205,6 @@ class EventAdminServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.times(1))
                 .getStatisticOnViews(List.of(eventFirst), true);
-
-        Mockito.verify(requestRepository, Mockito.times(1))
-                .countByEventIdAndStatus(2, Status.CONFIRMED);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(2);
     }
 
     @Test
@@ -250,12 +229,6 @@ class EventAdminServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(List.of(eventSecond), true);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(3, Status.CONFIRMED);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(3);
     }
 
     @Test
@@ -274,12 +247,6 @@ class EventAdminServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(List.of(eventFirst), true);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(2, Status.CONFIRMED);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(2);
     }
 
     @Test
@@ -354,6 +321,12 @@ class EventAdminServiceImplTest {
 
         Mockito.verify(eventRepository, Mockito.times(1))
                 .save(Mockito.any(Event.class));
+
+        Mockito.verify(eventSearchCache, Mockito.times(1))
+                .invalidateAll();
+
+        Mockito.verify(eventSearchIndex, Mockito.times(1))
+                .put(published);
     }
 
     @Test
@@ -375,12 +348,6 @@ class EventAdminServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(Mockito.anyList(), Mockito.anyBoolean());
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(Mockito.anyLong(), Mockito.any(Status.class));
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(Mockito.anyLong());
     }
 
     @Test
@@ -402,12 +369,6 @@ class EventAdminServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(Mockito.anyList(), Mockito.anyBoolean());
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(Mockito.anyLong(), Mockito.any(Status.class));
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(Mockito.anyLong());
     }
 
     @Test
@@ -445,12 +406,6 @@ class EventAdminServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(List.of(pending), true);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(1, Status.CONFIRMED);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(Mockito.anyLong());
     }
 
     private Event createEvent(State state, LocalDateTime eventDate) {
@@ -72,7 +72,7 @@ class EventAdminServiceTest {
         List<EventFullOutDto> randomEvents = initRandomEvents(100);
 
         List<EventOutDto> found = eventAdminService.getEvents(new int[] {userIds[indexUser]}, new String[] {state},
-                new int[] {catIds[indexCatId]}, null, null, 0, 100);
+                new int[] {catIds[indexCatId]}, null, null, 0, 100, null);
 
         List<EventFullOutDto> filteredUsingStream = randomEvents.stream()
                 .filter(event -> (event.getInitiator().getId() == (long) userIds[indexUser])
@@ -93,7 +93,7 @@ class EventAdminServiceTest {
         String end = LocalDateTime.now().plusDays(20).format(DATE_TIME_FORMATTER);
 
         List<EventOutDto> found = eventAdminService.getEvents(null, new String[] {state.getState()},
-                null, start, end, 0, 100);
+                null, start, end, 0, 100, null);
 
         List<EventFullOutDto> filteredUsingStream = randomEvents.stream()
                 .filter(event -> event.getState() == state
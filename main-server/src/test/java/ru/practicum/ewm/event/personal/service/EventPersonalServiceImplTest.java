@@ -23,6 +23,7 @@ import ru.practicum.ewm.event.model.dto.*;
 import ru.practicum.ewm.event.model.mapper.EventMapper;
 import ru.practicum.ewm.event.repository.CommentRepository;
 import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.shared.service.EventSearchCache;
 import ru.practicum.ewm.request.model.Request;
 import ru.practicum.ewm.request.model.dto.RequestOutDto;
 import ru.practicum.ewm.request.model.mapper.RequestMapper;
@@ -57,6 +58,8 @@ class EventPersonalServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private EventSearchCache eventSearchCache;
     private static Category category;
 
     @BeforeAll
@@ -103,12 +106,6 @@ class EventPersonalServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(Mockito.anyList(), Mockito.anyBoolean());
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(2, Status.CONFIRMED);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(2);
     }
 
     @Test
@@ -124,8 +121,7 @@ class EventPersonalServiceImplTest {
         Mockito.when(eventStatClient.getStatisticOnViews(List.of(event), true))
                 .thenReturn(views);
 
-        Mockito.when(requestRepository.countByEventIdAndStatus(2, Status.CONFIRMED))
-                .thenReturn(23L);
+        event.setConfirmedRequests(23);
 
         EventOutDto eventById = eventPersonalService.getEventById(11, 2);
 
@@ -137,12 +133,6 @@ class EventPersonalServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.times(1))
                 .getStatisticOnViews(List.of(event), true);
-
-        Mockito.verify(requestRepository, Mockito.times(1))
-                .countByEventIdAndStatus(2, Status.CONFIRMED);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(2);
     }
 
     @Test
@@ -168,12 +158,6 @@ class EventPersonalServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(List.of(event), true);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(3);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(3, Status.CONFIRMED);
     }
 
     @Test
@@ -198,17 +182,11 @@ class EventPersonalServiceImplTest {
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(List.of(old), true);
 
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(3L);
-
         Mockito.verify(eventRepository, Mockito.times(1))
                 .save(Mockito.any(Event.class));
 
         Mockito.verify(categoryRepository, Mockito.never())
                 .findById(3L);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(3, Status.CONFIRMED);
     }
 
     @Test
@@ -239,17 +217,8 @@ class EventPersonalServiceImplTest {
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(List.of(old), true);
 
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(3);
-
         Mockito.verify(eventRepository, Mockito.times(1))
                 .save(Mockito.any(Event.class));
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(2L);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(3, Status.CONFIRMED);
     }
 
     @Test
@@ -274,12 +243,6 @@ class EventPersonalServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(List.of(old), true);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(2);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(2, Status.CONFIRMED);
     }
 
     @Test
@@ -307,12 +270,6 @@ class EventPersonalServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(List.of(old), true);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(2);
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(2, Status.CONFIRMED);
     }
 
     @Test
@@ -557,8 +514,11 @@ class EventPersonalServiceImplTest {
                 .thenReturn(Optional.of(event));
         Mockito.when(requestRepository.findById(22L))
                 .thenReturn(Optional.of(request));
-        Mockito.when(requestRepository.countByEventIdAndStatus(11, Status.CONFIRMED))
-                .thenReturn(99L);
+        event.setConfirmedRequests(99);
+        Mockito.when(eventRepository.reserveParticipantPlace(11))
+                .thenReturn(1);
+        Mockito.when(eventRepository.getConfirmedRequests(11))
+                .thenReturn(100);
         Mockito.when(requestRepository.save(Mockito.any(Request.class)))
                 .thenReturn(request);
         Mockito.when(requestRepository.findAllByEventId(11L))
@@ -570,8 +530,8 @@ class EventPersonalServiceImplTest {
                 .findByIdAndInitiatorId(11, 17);
         Mockito.verify(requestRepository, Mockito.times(1))
                 .findById(22L);
-        Mockito.verify(requestRepository, Mockito.times(1))
-                .countByEventIdAndStatus(11, Status.CONFIRMED);
+        Mockito.verify(eventRepository, Mockito.times(1))
+                .reserveParticipantPlace(11);
         Mockito.verify(requestRepository, Mockito.times(1))
                 .save(request);
         Mockito.verify(requestRepository, Mockito.times(count + 1))
@@ -580,6 +540,52 @@ class EventPersonalServiceImplTest {
                 .findAllByEventId(11L);
     }
 
+    @Test
+    void whenConfirmRequestIfNoPlaceReservedThenThrowsConditionIsNotMetException() {
+        Event event = initEvent(11, true, State.PUBLISHED);
+        Request request = initRequest(22);
+
+        Mockito.when(eventRepository.findByIdAndInitiatorId(11, 17))
+                .thenReturn(Optional.of(event));
+        Mockito.when(requestRepository.findById(22L))
+                .thenReturn(Optional.of(request));
+        Mockito.when(eventRepository.reserveParticipantPlace(11))
+                .thenReturn(0);
+
+        final ConditionIsNotMetException exception = Assertions.assertThrows(
+                ConditionIsNotMetException.class,
+                () -> eventPersonalService.confirmRequest(17, 11, 22));
+
+        Assertions.assertEquals("confirmation of the request with id=22 was rejected due to the exhausted limit " +
+                "of participants", exception.getMessage());
+
+        Mockito.verify(requestRepository, Mockito.never())
+                .save(Mockito.any(Request.class));
+    }
+
+    @Test
+    void whenConfirmRequestIfRequestBelongsToAnotherEventThenThrowsConditionIsNotMetException() {
+        Event event = initEvent(12, true, State.PUBLISHED);
+        Request request = initRequest(22);
+
+        Mockito.when(eventRepository.findByIdAndInitiatorId(12, 17))
+                .thenReturn(Optional.of(event));
+        Mockito.when(requestRepository.findById(22L))
+                .thenReturn(Optional.of(request));
+
+        final ConditionIsNotMetException exception = Assertions.assertThrows(
+                ConditionIsNotMetException.class,
+                () -> eventPersonalService.confirmRequest(17, 12, 22));
+
+        Assertions.assertEquals("the request with id=22 doesn't belong to the event with id=12",
+                exception.getMessage());
+
+        Mockito.verify(eventRepository, Mockito.never())
+                .reserveParticipantPlace(Mockito.anyLong());
+        Mockito.verify(requestRepository, Mockito.never())
+                .save(Mockito.any(Request.class));
+    }
+
     @Test
     void whenConfirmRequestIfLimitZeroThenNotCallSaveRequestRepository() {
         Event eventLimitZero = initEvent(11, true, State.PENDING);
@@ -599,8 +605,6 @@ class EventPersonalServiceImplTest {
                 .findById(22L);
         Mockito.verify(requestRepository, Mockito.never())
                 .save(request);
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(11, Status.CONFIRMED);
         Mockito.verify(requestRepository, Mockito.never())
                 .findAllByEventId(11L);
     }
@@ -621,8 +625,6 @@ class EventPersonalServiceImplTest {
                 .findByIdAndInitiatorId(11, 17);
         Mockito.verify(requestRepository, Mockito.times(1))
                 .findById(22L);
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(11, Status.CONFIRMED);
         Mockito.verify(requestRepository, Mockito.never())
                 .save(Mockito.any(Request.class));
         Mockito.verify(requestRepository, Mockito.never())
@@ -648,8 +650,6 @@ class EventPersonalServiceImplTest {
                 .findByIdAndInitiatorId(11, 17);
         Mockito.verify(requestRepository, Mockito.times(1))
                 .findById(22L);
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(11, Status.CONFIRMED);
         Mockito.verify(requestRepository, Mockito.never())
                 .save(Mockito.any(Request.class));
         Mockito.verify(requestRepository, Mockito.never())
@@ -672,8 +672,6 @@ class EventPersonalServiceImplTest {
                 .findByIdAndInitiatorId(11, 17);
         Mockito.verify(requestRepository, Mockito.never())
                 .findById(22L);
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(11, Status.CONFIRMED);
         Mockito.verify(requestRepository, Mockito.never())
                 .save(Mockito.any(Request.class));
         Mockito.verify(requestRepository, Mockito.never())
@@ -0,0 +1,224 @@
+package ru.practicum.ewm.event.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.category.model.Category;
+import ru.practicum.ewm.category.model.mapper.CategoryMapper;
+import ru.practicum.ewm.event.enums.State;
+import ru.practicum.ewm.event.enums.Status;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.model.EventViews;
+import ru.practicum.ewm.event.model.QEvent;
+import ru.practicum.ewm.event.model.dto.EventShortOutDto;
+import ru.practicum.ewm.request.model.Request;
+import ru.practicum.ewm.user.model.User;
+import ru.practicum.ewm.user.model.mapper.UserMapper;
+import ru.practicum.ewm.util.SqlCapture;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+@DataJpaTest(properties = SqlCapture.PROPERTY)
+class EventRepositoryTest {
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    void setUp() {
+        SqlCapture.clear();
+    }
+
+    @Test
+    void reserveAndDecrementConfirmedRequests() {
+        Event event = em.persistAndFlush(createEvent());
+
+        eventRepository.reserveParticipantPlace(event.getId());
+        eventRepository.reserveParticipantPlace(event.getId());
+        eventRepository.decrementConfirmedRequests(event.getId());
+
+        assertThat(getConfirmedRequests(event.getId()), equalTo(1));
+
+        eventRepository.decrementConfirmedRequests(event.getId());
+        eventRepository.decrementConfirmedRequests(event.getId());
+
+        assertThat(getConfirmedRequests(event.getId()), equalTo(0));
+    }
+
+    @Test
+    void reserveParticipantPlaceStopsAtParticipantLimit() {
+        Event limited = createEvent();
+        limited.setParticipantLimit(2);
+        em.persist(limited);
+        Event unlimited = createEvent();
+        unlimited.setParticipantLimit(0);
+        em.persistAndFlush(unlimited);
+
+        assertThat(eventRepository.reserveParticipantPlace(limited.getId()), equalTo(1));
+        assertThat(eventRepository.reserveParticipantPlace(limited.getId()), equalTo(1));
+        assertThat(eventRepository.reserveParticipantPlace(limited.getId()), equalTo(0));
+        assertThat(eventRepository.getConfirmedRequests(limited.getId()), equalTo(2));
+
+        IntStream.range(0, 3).forEach(i -> eventRepository.reserveParticipantPlace(unlimited.getId()));
+
+        assertThat(eventRepository.getConfirmedRequests(unlimited.getId()), equalTo(3));
+    }
+
+    @Test
+    void findEventIdsWithDriftedConfirmedRequestsAndRepairThem() {
+        Event drifted = em.persist(createEvent());
+        Event consistent = em.persist(createEvent());
+        List.of(Status.CONFIRMED, Status.CONFIRMED, Status.PENDING)
+                .forEach(status -> em.persist(createRequest(drifted, status)));
+        em.persist(createRequest(consistent, Status.CONFIRMED));
+        em.flush();
+
+        eventRepository.reserveParticipantPlace(consistent.getId());
+        eventRepository.reserveParticipantPlace(drifted.getId());
+
+        assertThat(eventRepository.findEventIdsWithDriftedConfirmedRequests(), equalTo(List.of(drifted.getId())));
+        assertThat(eventRepository.lockConfirmedRequests(drifted.getId()).orElseThrow(), equalTo(1));
+        assertThat(eventRepository.setConfirmedRequests(drifted.getId(), 2), equalTo(1));
+        assertThat(getConfirmedRequests(drifted.getId()), equalTo(2));
+        assertThat(getConfirmedRequests(consistent.getId()), equalTo(1));
+        assertThat(eventRepository.findEventIdsWithDriftedConfirmedRequests(), equalTo(List.of()));
+    }
+
+    @Test
+    void findShortEventsOrderByViewsSortsAndPagesInDatabase() {
+        Event popular = em.persist(createEvent());
+        Event unpopular = em.persist(createEvent());
+        Event withoutViews = em.persist(createEvent());
+        Event pending = createEvent();
+        pending.setState(State.PENDING);
+        em.persist(pending);
+        em.persist(new EventViews(popular.getId(), 100L));
+        em.persist(new EventViews(unpopular.getId(), 5L));
+        em.persist(new EventViews(pending.getId(), 1L));
+        em.flush();
+
+        BooleanExpression published = QEvent.event.state.eq(State.PUBLISHED);
+
+        assertThat(getIds(eventRepository.findShortEventsOrderByViews(published, 0, 10)),
+                equalTo(List.of(withoutViews.getId(), unpopular.getId(), popular.getId())));
+        assertThat(getIds(eventRepository.findShortEventsOrderByViews(published, 1, 1)),
+                equalTo(List.of(unpopular.getId())));
+        assertThat(eventRepository.findShortEventsOrderByViews(published, 0, 10).stream()
+                .map(EventShortOutDto::getViews)
+                .collect(Collectors.toList()), equalTo(List.of(0L, 5L, 100L)));
+    }
+
+    @Test
+    void findShortEventsOrderByEventDateProjectsShortDto() {
+        Event later = createEvent();
+        later.setEventDate(later.getEventDate().plusDays(1));
+        em.persist(later);
+        Event earlier = em.persist(createEvent());
+        em.flush();
+        eventRepository.reserveParticipantPlace(earlier.getId());
+
+        List<EventShortOutDto> found = eventRepository.findShortEventsOrderByEventDate(
+                QEvent.event.state.eq(State.PUBLISHED), 0, 10);
+
+        assertThat(getIds(found), equalTo(List.of(later.getId(), earlier.getId())));
+        assertThat(found.get(1).getTitle(), equalTo(earlier.getTitle()));
+        assertThat(found.get(1).getConfirmedRequests(), equalTo(1));
+        assertThat(found.get(1).getCategory(), equalTo(CategoryMapper.toCategoryOut(earlier.getCategory())));
+        assertThat(found.get(1).getInitiator(), equalTo(UserMapper.toUserShort(earlier.getInitiator())));
+        assertThat(found.get(1).getViews(), equalTo(0L));
+    }
+
+    @Test
+    void findShortEventsOrderByEventDateUsesStateEventDateIndex() {
+        eventRepository.findShortEventsOrderByEventDate(QEvent.event.state.eq(State.PUBLISHED)
+                .and(QEvent.event.eventDate.after(LocalDateTime.of(2022, 9, 1, 0, 0))), 0, 10);
+
+        assertThat(explain(SqlCapture.single(), State.PUBLISHED.name(), LocalDateTime.of(2022, 9, 1, 0, 0), 10),
+                containsString("/* PUBLIC.IDX_EVENTS_STATE_EVENT_DATE: "));
+    }
+
+    @Test
+    void findAllByInitiatorIdLooksUpInitiatorInIndex() {
+        eventRepository.findAllByInitiatorId(1, PageRequest.of(0, 10));
+
+        assertThat(explain(SqlCapture.single(), 1, 11), containsString(": INITIATOR_ID = ?1 */"));
+    }
+
+    @Test
+    void existsByCategoryIdLooksUpCategoryInIndex() {
+        eventRepository.existsByCategoryId(1);
+
+        assertThat(explain(SqlCapture.single(), 1), containsString(": CATEGORY_ID = ?1 */"));
+    }
+
+    @Test
+    void findShortEventsOrderByWithLargeRadiusUsesLocationIndex() {
+        QEvent event = QEvent.event;
+        eventRepository.findShortEventsOrderBy(event.locationLatitude.between(50.5f, 59.5f)
+                .and(event.locationLongitude.between(29.3f, 45.9f)), event.eventDate.desc(), 0, 10);
+
+        assertThat(explain(SqlCapture.single(), 50.5f, 59.5f, 29.3f, 45.9f, 10),
+                containsString("/* PUBLIC.IDX_EVENTS_LOCATION: "));
+    }
+
+    private List<Long> getIds(List<EventShortOutDto> events) {
+        return events.stream()
+                .map(EventShortOutDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private int getConfirmedRequests(long eventId) {
+        return jdbcTemplate.queryForObject("SELECT confirmed_requests FROM events WHERE event_id = ?",
+                Integer.class, eventId);
+    }
+
+    private Event createEvent() {
+        return Event.builder()
+                .annotation("annotation of the event")
+                .description("description of the event")
+                .title("title")
+                .category(em.persist(Category.builder()
+                        .name("category " + System.nanoTime())
+                        .build()))
+                .initiator(createUser())
+                .eventDate(LocalDateTime.now().plusDays(5))
+                .participantLimit(10)
+                .requestModeration(true)
+                .state(State.PUBLISHED)
+                .build();
+    }
+
+    private Request createRequest(Event event, Status status) {
+        return Request.builder()
+                .event(event)
+                .requester(createUser())
+                .status(status)
+                .build();
+    }
+
+    private User createUser() {
+        return em.persist(User.builder()
+                .name("User")
+                .email(String.format("user%s@mail.ru", System.nanoTime()))
+                .build());
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+}
@@ -112,7 +112,7 @@ class EventControllerTest {
     void getEventsStatusIsOk() throws Exception {
         Mockito
                 .when(eventService.getEvents(null, null, null, null, null,
-                        true, "EVENT_DATE", 0, 10))
+                        true, null, "EVENT_DATE", 0, 10, null))
                 .thenReturn(List.of(eventShortOut));
 
         mockMvc.perform(get("/events?onlyAvailable=true")
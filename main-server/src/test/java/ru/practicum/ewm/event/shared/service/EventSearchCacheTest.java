@@ -0,0 +1,102 @@
+package ru.practicum.ewm.event.shared.service;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.ewm.event.model.dto.EventShortOutDto;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class EventSearchCacheTest {
+    private static final EventSearchCache.Key KEY = EventSearchCache.Key.of("Text", new int[] {3, 1, 3}, null,
+            null, null, false, null, "EVENT_DATE", 0, 10, null);
+
+    @Test
+    void whenGetSameKeyTwiceThenLoadOnce() {
+        EventSearchCache cache = new EventSearchCache(true, 60_000, 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(KEY, loader(loads, 1L));
+        List<EventShortOutDto> found = cache.get(EventSearchCache.Key.of("text", new int[] {1, 3}, null, null,
+                null, false, null, "EVENT_DATE", 0, 10, null), loader(loads, 1L));
+
+        assertThat(loads.get(), equalTo(1));
+        assertThat(found.get(0).getId(), equalTo(1L));
+    }
+
+    @Test
+    void whenCacheIsDisabledThenAlwaysLoad() {
+        EventSearchCache cache = new EventSearchCache(false, 60_000, 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(KEY, loader(loads, 1L));
+        cache.get(KEY, loader(loads, 1L));
+
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    void whenEntryIsExpiredThenLoadAgain() {
+        EventSearchCache cache = new EventSearchCache(true, 0, 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(KEY, loader(loads, 1L));
+        cache.get(KEY, loader(loads, 1L));
+
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    void whenMaxEntriesIsExceededThenEvictLeastRecentlyUsed() {
+        EventSearchCache cache = new EventSearchCache(true, 60_000, 1);
+        AtomicInteger loads = new AtomicInteger();
+        EventSearchCache.Key another = EventSearchCache.Key.of(null, null, null, null, null, false, null,
+                "VIEWS", 0, 10, null);
+
+        cache.get(KEY, loader(loads, 1L));
+        cache.get(another, loader(loads, 2L));
+        cache.get(KEY, loader(loads, 1L));
+
+        assertThat(loads.get(), equalTo(3));
+    }
+
+    @Test
+    void whenInvalidateEventThenEvictOnlySearchesContainingIt() {
+        EventSearchCache cache = new EventSearchCache(true, 60_000, 10);
+        AtomicInteger loads = new AtomicInteger();
+        EventSearchCache.Key another = EventSearchCache.Key.of(null, null, null, null, null, false, null,
+                "VIEWS", 0, 10, null);
+
+        cache.get(KEY, loader(loads, 1L));
+        cache.get(another, loader(loads, 2L));
+        cache.invalidate(1L);
+        cache.get(KEY, loader(loads, 1L));
+        cache.get(another, loader(loads, 2L));
+
+        assertThat(loads.get(), equalTo(3));
+    }
+
+    @Test
+    void whenInvalidateAllThenLoadAgain() {
+        EventSearchCache cache = new EventSearchCache(true, 60_000, 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(KEY, loader(loads, 1L));
+        cache.invalidateAll();
+        cache.get(KEY, loader(loads, 1L));
+
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    private Supplier<List<EventShortOutDto>> loader(AtomicInteger loads, long eventId) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(EventShortOutDto.builder()
+                    .id(eventId)
+                    .build());
+        };
+    }
+}
@@ -0,0 +1,146 @@
+package ru.practicum.ewm.event.shared.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.ewm.category.model.Category;
+import ru.practicum.ewm.event.enums.State;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.util.Cursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@ExtendWith(MockitoExtension.class)
+class EventSearchIndexTest {
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Mock
+    private EventRepository eventRepository;
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        Mockito.when(eventRepository.findAllByState(Mockito.eq(State.PUBLISHED), Mockito.any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(
+                        createEvent(1L, "Jazz concert", 1L, false, 3),
+                        createEvent(2L, "Cats exhibition", 2L, true, 5),
+                        createEvent(3L, "Rock CONCERT", 1L, true, 7))));
+
+        index = new EventSearchIndex(eventRepository, true, 100);
+        index.rebuild();
+    }
+
+    @Test
+    void whenSearchByTextThenReturnMatchedEventsSortedByEventDateDesc() {
+        assertThat(index.search(query("concert", null, null, null, 0, 10)), equalTo(List.of(3L, 1L)));
+        assertThat(index.search(query("CERT", null, null, null, 0, 10)), equalTo(List.of(3L, 1L)));
+        assertThat(index.search(query("opera", null, null, null, 0, 10)), equalTo(List.of()));
+    }
+
+    @Test
+    void whenSearchByShortTextThenScanAllEvents() {
+        assertThat(index.search(query("ca", null, null, null, 0, 10)), equalTo(List.of(2L)));
+    }
+
+    @Test
+    void whenSearchWithFiltersThenReturnOnlySuitableEvents() {
+        assertThat(index.search(query(null, new int[] {1}, true, null, 0, 10)), equalTo(List.of(3L)));
+        assertThat(index.search(query(null, null, null, null, 1, 1)), equalTo(List.of(2L)));
+    }
+
+    @Test
+    void whenSearchAfterCursorThenReturnOnlyEarlierEvents() {
+        Cursor cursor = Cursor.of(NOW.plusDays(7), 3L);
+
+        assertThat(index.search(query("concert", null, null, cursor, 0, 10)), equalTo(List.of(1L)));
+        assertThat(index.search(query(null, null, null, cursor, 0, 10)), equalTo(List.of(2L, 1L)));
+    }
+
+    @Test
+    void whenPutEventThenReindexIt() {
+        Event event = createEvent(2L, "Jazz festival", 2L, true, 5);
+
+        index.put(event);
+
+        assertThat(index.search(query("jazz", null, null, null, 0, 10)), equalTo(List.of(2L, 1L)));
+        assertThat(index.search(query("cats", null, null, null, 0, 10)), equalTo(List.of()));
+    }
+
+    @Test
+    void whenPutNotPublishedEventThenRemoveIt() {
+        Event event = createEvent(1L, "Jazz concert", 1L, false, 3);
+        event.setState(State.CANCELED);
+
+        index.put(event);
+
+        assertThat(index.search(query("concert", null, null, null, 0, 10)), equalTo(List.of(3L)));
+        assertThat(index.size(), equalTo(2));
+    }
+
+    @Test
+    void whenPutEventDuringRebuildThenKeepItAfterRebuild() {
+        Event renamed = createEvent(2L, "Jazz festival", 2L, true, 5);
+        Event canceled = createEvent(3L, "Rock CONCERT", 1L, true, 7);
+        canceled.setState(State.CANCELED);
+        Mockito.when(eventRepository.findAllByState(Mockito.eq(State.PUBLISHED), Mockito.any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    List<Event> loaded = List.of(
+                            createEvent(1L, "Jazz concert", 1L, false, 3),
+                            createEvent(2L, "Cats exhibition", 2L, true, 5),
+                            createEvent(3L, "Rock CONCERT", 1L, true, 7));
+                    index.put(renamed);
+                    index.put(canceled);
+                    return new SliceImpl<>(loaded);
+                });
+
+        index.rebuild();
+
+        assertThat(index.search(query("jazz", null, null, null, 0, 10)), equalTo(List.of(2L, 1L)));
+        assertThat(index.search(query("cats", null, null, null, 0, 10)), equalTo(List.of()));
+        assertThat(index.search(query("concert", null, null, null, 0, 10)), equalTo(List.of(1L)));
+        assertThat(index.size(), equalTo(2));
+    }
+
+    @Test
+    void whenPutIdsIntoPostingThenKeepThemSortedAndUnique() {
+        EventSearchIndex.Posting posting = new EventSearchIndex.Posting();
+        for (long id : new long[] {5, 1, 9, 3, 7, 5, 11}) posting.add(id);
+        posting.remove(9);
+        posting.remove(2);
+
+        assertThat(posting.size(), equalTo(5));
+        assertThat(posting.toArray(), equalTo(new long[] {1, 3, 5, 7, 11}));
+        assertThat(posting.contains(7), equalTo(true));
+        assertThat(posting.contains(9), equalTo(false));
+    }
+
+    private EventSearchIndex.Query query(String text, int[] categories, Boolean paid, Cursor cursor, int from,
+                                         int size) {
+        return EventSearchIndex.Query.of(text, categories, paid, null, null, cursor, from, size);
+    }
+
+    private Event createEvent(long id, String title, long categoryId, boolean paid, int days) {
+        return Event.builder()
+                .id(id)
+                .title(title)
+                .annotation("annotation")
+                .description("description")
+                .category(Category.builder()
+                        .id(categoryId)
+                        .build())
+                .paid(paid)
+                .state(State.PUBLISHED)
+                .eventDate(NOW.plusDays(days))
+                .build();
+    }
+}
@@ -8,12 +8,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import ru.practicum.ewm.category.model.Category;
 import ru.practicum.ewm.client.event.EventStatClient;
 import ru.practicum.ewm.error.handler.exception.EventNotFoundException;
+import ru.practicum.ewm.error.handler.exception.InvalidRequestException;
 import ru.practicum.ewm.error.handler.exception.NoAccessRightsException;
 import ru.practicum.ewm.event.enums.State;
 import ru.practicum.ewm.event.enums.Status;
@@ -24,6 +24,7 @@ import ru.practicum.ewm.event.model.mapper.EventMapper;
 import ru.practicum.ewm.event.repository.EventRepository;
 import ru.practicum.ewm.request.repository.RequestRepository;
 import ru.practicum.ewm.user.model.User;
+import ru.practicum.ewm.util.Cursor;
 import ru.practicum.ewm.util.Pagination;
 
 import java.time.LocalDateTime;
@@ -45,6 +46,12 @@ class EventServiceImplTest {
     private EventStatClient eventStatClient;
     @Mock
     private RequestRepository requestRepository;
+    @Spy
+    private EventSearchCache eventSearchCache = new EventSearchCache(false, 0, 0);
+    @Spy
+    private EventTextSearch eventTextSearch = new EventTextSearch(false);
+    @Spy
+    private EventSearchIndex eventSearchIndex = new EventSearchIndex(null, false, 0);
     private static Event eventFirst;
     private static Event eventSecond;
     private static Event notPublished;
@@ -107,101 +114,137 @@ class EventServiceImplTest {
     }
 
     @Test
-    void whenGetEventsIfSortByEventDateThenCallFindAllWithBooleanExpressionAndPageableRepository() {
-        Page<Event> events = new PageImpl<>(List.of(eventFirst, eventSecond));
-
-        Mockito.when(eventRepository.findAll(Mockito.any(BooleanExpression.class), Mockito.any(Pagination.class)))
-                .thenReturn(events);
+    void whenGetEventsIfSortByEventDateThenCallFindShortEventsOrderByEventDateRepository() {
+        Mockito.when(eventRepository.findShortEventsOrderByEventDate(Mockito.any(BooleanExpression.class),
+                        Mockito.eq(0L), Mockito.eq(10)))
+                .thenReturn(List.of(EventMapper.toEventShort(eventFirst, 2, 0),
+                        EventMapper.toEventShort(eventSecond, 15, 0)));
 
         HashMap<Long, Long> views = new HashMap<>();
         views.put(2L, 13L);
         views.put(3L, 50L);
 
-        Mockito.when(eventStatClient.getStatisticOnViews(List.of(eventFirst, eventSecond), true))
+        Mockito.when(eventStatClient.getStatisticOnViewsByIds(List.of(2L, 3L), true))
                 .thenReturn(views);
 
-        Mockito.when(requestRepository.countByEventIdAndStatus(2, Status.CONFIRMED))
-                .thenReturn(2L);
-
-        Mockito.when(requestRepository.countByEventId(3))
-                .thenReturn(15L);
-
         List<EventShortOutDto> found = eventService.getEvents(null, null, null,
-                null, null, false, "EVENT_DATE", 0, 10);
+                null, null, false, null, "EVENT_DATE", 0, 10, null);
 
         assertThat(found.size(), equalTo(2));
         assertThat(found.get(0), equalTo(EventMapper.toEventShort(eventFirst, 2, 13)));
         assertThat(found.get(1), equalTo(EventMapper.toEventShort(eventSecond, 15, 50)));
 
         Mockito.verify(eventRepository, Mockito.times(1))
-                .findAll(Mockito.any(BooleanExpression.class), Mockito.any(Pagination.class));
+                .findShortEventsOrderByEventDate(Mockito.any(BooleanExpression.class), Mockito.eq(0L),
+                        Mockito.eq(10));
 
         Mockito.verify(eventRepository, Mockito.never())
-                .findAll(Mockito.any(BooleanExpression.class));
+                .findAll(Mockito.any(BooleanExpression.class), Mockito.any(Pagination.class));
 
         Mockito.verify(eventStatClient, Mockito.times(1))
-                .getStatisticOnViews(List.of(eventFirst, eventSecond), true);
+                .getStatisticOnViewsByIds(List.of(2L, 3L), true);
+    }
 
-        Mockito.verify(requestRepository, Mockito.times(1))
-                .countByEventIdAndStatus(2, Status.CONFIRMED);
+    @Test
+    void whenGetEventsIfSortByViewsThenCallFindShortEventsOrderByViewsRepository() {
+        Mockito.when(eventRepository.findShortEventsOrderByViews(Mockito.any(BooleanExpression.class),
+                        Mockito.eq(0L), Mockito.eq(10)))
+                .thenReturn(List.of(EventMapper.toEventShort(eventFirst, 2, 13),
+                        EventMapper.toEventShort(eventSecond, 15, 50)));
+
+        List<EventShortOutDto> found = eventService.getEvents(null, null, null,
+                null, null, false, null, "VIEWS", 0, 10, null);
+
+        assertThat(found.size(), equalTo(2));
+        assertThat(found.get(0), equalTo(EventMapper.toEventShort(eventFirst, 2, 13)));
+        assertThat(found.get(1), equalTo(EventMapper.toEventShort(eventSecond, 15, 50)));
 
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(2);
+        Mockito.verify(eventRepository, Mockito.times(1))
+                .findShortEventsOrderByViews(Mockito.any(BooleanExpression.class), Mockito.eq(0L), Mockito.eq(10));
 
-        Mockito.verify(requestRepository, Mockito.times(1))
-                .countByEventId(3);
+        Mockito.verify(eventRepository, Mockito.never())
+                .findAll(Mockito.any(BooleanExpression.class));
 
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(3, Status.CONFIRMED);
+        Mockito.verify(eventStatClient, Mockito.never())
+                .getStatisticOnViewsByIds(Mockito.anyCollection(), Mockito.anyBoolean());
     }
 
     @Test
-    void whenGetEventsIfSortByViewsThenCallFindAllWithBooleanExpressionRepository() {
-        Page<Event> events = new PageImpl<>(List.of(eventFirst, eventSecond));
+    void whenGetEventsIfSortByViewsWithCursorThenThrowsInvalidRequestException() {
+        String cursor = Cursor.of(LocalDateTime.now(), 2L).encode();
 
-        Mockito.when(eventRepository.findAll(Mockito.any(BooleanExpression.class)))
-                .thenReturn(events);
+        final InvalidRequestException exception = Assertions.assertThrows(
+                InvalidRequestException.class,
+                () -> eventService.getEvents(null, null, null, null, null, false, null, "VIEWS", 0, 10, cursor));
 
-        HashMap<Long, Long> views = new HashMap<>();
-        views.put(2L, 13L);
-        views.put(3L, 50L);
+        Assertions.assertEquals("cursor pagination is only supported for EVENT_DATE sorting", exception.getMessage());
 
-        Mockito.when(eventStatClient.getStatisticOnViews(List.of(eventFirst, eventSecond), true))
-                .thenReturn(views);
+        Mockito.verify(eventRepository, Mockito.never())
+                .findShortEventsOrderByViews(Mockito.any(BooleanExpression.class), Mockito.anyLong(),
+                        Mockito.anyInt());
+    }
 
-        Mockito.when(requestRepository.countByEventIdAndStatus(2, Status.CONFIRMED))
-                .thenReturn(2L);
+    @Test
+    void whenGetEventsIfSortByEventDateWithCursorThenSeekFromFirstRow() {
+        Mockito.when(eventRepository.findShortEventsOrderByEventDate(Mockito.any(BooleanExpression.class),
+                        Mockito.anyLong(), Mockito.anyInt()))
+                .thenReturn(List.of());
 
-        Mockito.when(requestRepository.countByEventId(3))
-                .thenReturn(15L);
+        eventService.getEvents(null, null, null, null, null, false, null, "EVENT_DATE", 30, 10,
+                Cursor.of(LocalDateTime.now(), 2L).encode());
 
-        List<EventShortOutDto> found = eventService.getEvents(null, null, null,
-                null, null, false, "VIEWS", 0, 10);
+        Mockito.verify(eventRepository, Mockito.times(1))
+                .findShortEventsOrderByEventDate(Mockito.any(BooleanExpression.class), Mockito.eq(0L),
+                        Mockito.eq(10));
+    }
 
-        assertThat(found.size(), equalTo(2));
-        assertThat(found.get(0), equalTo(EventMapper.toEventShort(eventFirst, 2, 13)));
-        assertThat(found.get(1), equalTo(EventMapper.toEventShort(eventSecond, 15, 50)));
+    @Test
+    void whenGetEventsIfSortByRelevanceWithoutFullTextThenSortByEventDate() {
+        Mockito.when(eventRepository.findShortEventsOrderByEventDate(Mockito.any(BooleanExpression.class),
+                        Mockito.eq(0L), Mockito.eq(10)))
+                .thenReturn(List.of());
 
-        Mockito.verify(eventRepository, Mockito.times(1))
-                .findAll(Mockito.any(BooleanExpression.class));
+        eventService.getEvents("cats", null, null, null, null, false, null, "RELEVANCE", 0, 10, null);
 
         Mockito.verify(eventRepository, Mockito.never())
-                .findAll(Mockito.any(BooleanExpression.class), Mockito.any(Pagination.class));
+                .findShortEventsOrderBy(Mockito.any(BooleanExpression.class), Mockito.any(), Mockito.anyLong(),
+                        Mockito.anyInt());
+    }
 
-        Mockito.verify(eventStatClient, Mockito.times(1))
-                .getStatisticOnViews(List.of(eventFirst, eventSecond), true);
+    @Test
+    void whenGetEventsIfIndexIsAvailableThenLoadOnlyFoundEvents() {
+        Mockito.doReturn(true).when(eventSearchIndex).isAvailable();
+        Mockito.doReturn(List.of(2L)).when(eventSearchIndex).search(Mockito.any(EventSearchIndex.Query.class));
+        Mockito.when(eventRepository.findShortEventsOrderByEventDate(Mockito.any(BooleanExpression.class),
+                        Mockito.eq(0L), Mockito.eq(10)))
+                .thenReturn(List.of(EventMapper.toEventShort(eventFirst, 2, 0)));
+
+        Mockito.when(eventStatClient.getStatisticOnViewsByIds(List.of(2L), true))
+                .thenReturn(new HashMap<>());
 
-        Mockito.verify(requestRepository, Mockito.times(1))
-                .countByEventIdAndStatus(2, Status.CONFIRMED);
+        List<EventShortOutDto> found = eventService.getEvents("annotation", null, null, null, null, false, null,
+                "EVENT_DATE", 20, 10, null);
 
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(2);
+        assertThat(found.size(), equalTo(1));
+        assertThat(found.get(0).getId(), equalTo(2L));
 
-        Mockito.verify(requestRepository, Mockito.times(1))
-                .countByEventId(3);
+        Mockito.verify(eventSearchIndex, Mockito.times(1))
+                .search(Mockito.argThat(query -> query.getFrom() == 20 && query.getText().equals("annotation")));
+    }
+
+    @Test
+    void whenGetEventsIfIndexFoundNothingThenSkipRepository() {
+        Mockito.doReturn(true).when(eventSearchIndex).isAvailable();
+        Mockito.doReturn(List.of()).when(eventSearchIndex).search(Mockito.any(EventSearchIndex.Query.class));
 
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(3, Status.CONFIRMED);
+        List<EventShortOutDto> found = eventService.getEvents("missing", null, null, null, null, false, null,
+                "EVENT_DATE", 0, 10, null);
+
+        assertThat(found.size(), equalTo(0));
+
+        Mockito.verify(eventRepository, Mockito.never())
+                .findShortEventsOrderByEventDate(Mockito.any(BooleanExpression.class), Mockito.anyLong(),
+                        Mockito.anyInt());
     }
 
     @Test
@@ -223,12 +266,6 @@ class EventServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(Mockito.anyList(), Mockito.anyBoolean());
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(Mockito.anyLong(), Mockito.any(Status.class));
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(Mockito.anyLong());
     }
 
     @Test
@@ -251,12 +288,6 @@ class EventServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.never())
                 .getStatisticOnViews(Mockito.anyList(), Mockito.anyBoolean());
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(Mockito.anyLong(), Mockito.any(Status.class));
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventId(Mockito.anyLong());
     }
 
     @Test
@@ -267,8 +298,7 @@ class EventServiceImplTest {
         Mockito.when(eventStatClient.getStatisticOnViews(List.of(eventSecond), true))
                 .thenReturn(new HashMap<>());
 
-        Mockito.when(requestRepository.countByEventId(3))
-                .thenReturn(15L);
+        eventSecond.setConfirmedRequests(15);
 
         EventFullOutDto found = eventService.getEventById(3);
 
@@ -280,11 +310,5 @@ class EventServiceImplTest {
 
         Mockito.verify(eventStatClient, Mockito.times(1))
                 .getStatisticOnViews(List.of(eventSecond), true);
-
-        Mockito.verify(requestRepository, Mockito.times(1))
-                .countByEventId(Mockito.anyLong());
-
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(Mockito.anyLong(), Mockito.any(Status.class));
     }
 }
\ No newline at end of file
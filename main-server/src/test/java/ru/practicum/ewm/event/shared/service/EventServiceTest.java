@@ -20,6 +20,7 @@ import ru.practicum.ewm.error.handler.exception.NoAccessRightsException;
 import ru.practicum.ewm.event.admin.service.EventAdminService;
 import ru.practicum.ewm.event.enums.State;
 import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.model.dto.EventAdminChangedDto;
 import ru.practicum.ewm.event.model.dto.EventFullOutDto;
 import ru.practicum.ewm.event.model.dto.EventInDto;
 import ru.practicum.ewm.event.model.dto.EventShortOutDto;
@@ -29,10 +30,12 @@ import ru.practicum.ewm.event.personal.service.EventPersonalService;
 import ru.practicum.ewm.user.admin.service.UserService;
 import ru.practicum.ewm.user.model.dto.UserInDto;
 import ru.practicum.ewm.user.model.dto.UserOutDto;
+import ru.practicum.ewm.util.GeoArea;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Random;
@@ -76,7 +79,7 @@ class EventServiceTest {
         List<EventFullOutDto> randomEvents = initRandomEvents(count);
 
         List<EventShortOutDto> foundByParams = eventService.getEvents(text, new int[] {catIds[indexCatIds]}, paid,
-                null, null, false, "EVENT_DATE", 0, 10);
+                null, null, false, null, "EVENT_DATE", 0, 10, null);
 
         List<EventShortOutDto> filteredUsingStream = randomEvents.stream()
                 .filter(event -> event.getState() == State.PUBLISHED)
@@ -92,6 +95,48 @@ class EventServiceTest {
         assertTrue(foundByParams.containsAll(filteredUsingStream));
     }
 
+    @Test
+    void getEventsIfOnlyAvailableThenSkipEventsWithoutFreePlaces() {
+        EventFullOutDto unlimited = createPublishedEvent(0, 5, 1);
+        EventFullOutDto full = createPublishedEvent(2, 2, 2);
+        EventFullOutDto available = createPublishedEvent(3, 2, 3);
+        EventFullOutDto overbooked = createPublishedEvent(1, 4, 4);
+
+        List<Long> found = eventService.getEvents(null, null, null, null, null, true, null, "EVENT_DATE", 0, 10, null)
+                .stream()
+                .map(EventShortOutDto::getId)
+                .collect(Collectors.toList());
+
+        assertThat(found, equalTo(List.of(available.getId(), unlimited.getId())));
+        assertTrue(!found.contains(full.getId()) && !found.contains(overbooked.getId()));
+
+        List<EventShortOutDto> firstPage = eventService.getEvents(null, null, null, null, null, true, null,
+                "EVENT_DATE", 0, 1, null);
+
+        assertThat(firstPage.size(), equalTo(1));
+        assertThat(firstPage.get(0).getId(), equalTo(available.getId()));
+    }
+
+    @Test
+    void getEventsIfAreaIsPassedThenReturnOnlyEventsWithinRadius() {
+        GeoArea area = GeoArea.of(55.7558f, 37.6173f, 10f);
+        EventFullOutDto center = createPublishedEventAt(55.76f, 37.62f, 1);
+        EventFullOutDto nearby = createPublishedEventAt(55.80f, 37.70f, 2);
+        EventFullOutDto faraway = createPublishedEventAt(59.93f, 30.33f, 3);
+        createPublishedEventAt(55.84f, 37.77f, 4);
+
+        assertThat(getEventIds(area, "DISTANCE"), equalTo(List.of(center.getId(), nearby.getId())));
+        assertThat(getEventIds(area, "EVENT_DATE"), equalTo(List.of(nearby.getId(), center.getId())));
+        assertThat(getEventIds(area, "VIEWS").size(), equalTo(2));
+        assertThat(getEventIds(GeoArea.of(59.93f, 30.33f, 1f), "DISTANCE"), equalTo(List.of(faraway.getId())));
+
+        eventAdminService.updateEvent(nearby.getId(), EventAdminChangedDto.builder()
+                .location(new LocationDto(59.94f, 30.34f))
+                .build());
+
+        assertThat(getEventIds(area, "DISTANCE"), equalTo(List.of(center.getId())));
+    }
+
     @Test
     void getEventById() {
         CategoryInDto category = CategoryInDto.builder().name("new category").build();
@@ -236,7 +281,7 @@ class EventServiceTest {
                                     .latitude(46.4546f)
                                     .longitude(52.5483f)
                                     .build())
-                            .eventDate(LocalDateTime.now().plusDays(iteration + 1))
+                            .eventDate(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(iteration + 1))
                             .title("very interesting event №" + iteration)
                             .build();
                     long userId = userIds[new Random().nextInt(userIds.length)];
@@ -248,6 +293,56 @@ class EventServiceTest {
         return events;
     }
 
+    private EventFullOutDto createPublishedEvent(int participantLimit, int confirmedRequests, int days) {
+        EventInDto event = EventInDto.builder()
+                .paid(false)
+                .category(catIds[0])
+                .requestModeration(true)
+                .participantLimit(participantLimit)
+                .annotation("annotation of the event with limit " + participantLimit)
+                .description("description of the event with limit " + participantLimit)
+                .location(LocationDto.builder()
+                        .latitude(46.4546f)
+                        .longitude(52.5483f)
+                        .build())
+                .eventDate(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(days))
+                .title("event with limit " + participantLimit)
+                .build();
+        EventFullOutDto saved = eventPersonalService.createEvent(userIds[0], event);
+        eventAdminService.publishEvent(saved.getId());
+
+        em.createQuery("UPDATE Event e SET e.confirmedRequests = :confirmedRequests WHERE e.id = :eventId")
+                .setParameter("confirmedRequests", confirmedRequests)
+                .setParameter("eventId", saved.getId())
+                .executeUpdate();
+        return saved;
+    }
+
+    private EventFullOutDto createPublishedEventAt(float latitude, float longitude, int days) {
+        EventInDto event = EventInDto.builder()
+                .paid(false)
+                .category(catIds[0])
+                .requestModeration(true)
+                .annotation("annotation of the event near " + latitude + ", " + longitude)
+                .description("description of the event near " + latitude + ", " + longitude)
+                .location(LocationDto.builder()
+                        .latitude(latitude)
+                        .longitude(longitude)
+                        .build())
+                .eventDate(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(days))
+                .title("event near " + latitude + ", " + longitude)
+                .build();
+        EventFullOutDto saved = eventPersonalService.createEvent(userIds[0], event);
+        eventAdminService.publishEvent(saved.getId());
+        return saved;
+    }
+
+    private List<Long> getEventIds(GeoArea area, String sort) {
+        return eventService.getEvents(null, null, null, null, null, false, area, sort, 0, 10, null).stream()
+                .map(EventShortOutDto::getId)
+                .collect(Collectors.toList());
+    }
+
     private EventShortOutDto toEventShort(EventFullOutDto event) {
         return EventShortOutDto.builder()
                 .id(event.getId())
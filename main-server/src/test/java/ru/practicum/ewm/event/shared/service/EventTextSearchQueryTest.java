@@ -0,0 +1,51 @@
+package ru.practicum.ewm.event.shared.service;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.ewm.event.model.Event;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.containsString;
+import static ru.practicum.ewm.event.model.QEvent.event;
+
+/**
+ * Nothing is executed here as the test database has no tsvector support: the queries built by
+ * {@link EventTextSearch} are only translated by Hibernate with the dialect of the production profile.
+ */
+@DataJpaTest(properties = {"spring.jpa.database-platform=ru.practicum.ewm.util.FullTextPostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=none"})
+class EventTextSearchQueryTest {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final EventTextSearch eventTextSearch = new EventTextSearch(true);
+
+    @Test
+    void whenFullTextIsEnabledThenTranslateToPrefixTsQuery() {
+        String sql = translate(new JPAQuery<Event>()
+                .select(event)
+                .from(event)
+                .where(eventTextSearch.matches("Football match"))
+                .orderBy(eventTextSearch.relevance("Football match").orElseThrow()));
+
+        assertThat(sql, containsString("(setweight(to_tsvector('simple', event0_.title), 'A') || " +
+                "setweight(to_tsvector('simple', event0_.annotation), 'B') || " +
+                "setweight(to_tsvector('simple', event0_.description), 'C')) @@ to_tsquery('simple', ?)=true"));
+        assertThat(sql, containsString("order by ts_rank(setweight(to_tsvector('simple', event0_.title), 'A')"));
+    }
+
+    private String translate(JPAQuery<Event> query) {
+        String[] sql = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getQueryPlanCache()
+                .getHQLQueryPlan(query.toString(), false, Map.of()).getSqlStrings();
+
+        assertThat(sql, arrayWithSize(1));
+        return sql[0];
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.ewm.event.shared.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventTextSearchTest {
+
+    @Test
+    void whenTextHasSeveralWordsThenJoinPrefixesWithAnd() {
+        assertThat(EventTextSearch.toTsQuery("Cats  SHOW"), equalTo("cats:* & show:*"));
+    }
+
+    @Test
+    void whenTextIsOneWordThenMatchOnlyWordPrefixes() {
+        assertThat(EventTextSearch.toTsQuery("ball"), equalTo("ball:*"));
+    }
+
+    @Test
+    void whenTextHasOperatorsThenStripThem() {
+        assertThat(EventTextSearch.toTsQuery("jazz & (blues) | !rock:*"), equalTo("jazz:* & blues:* & rock:*"));
+    }
+
+    @Test
+    void whenTextHasNoWordsThenReturnNull() {
+        assertThat(EventTextSearch.toTsQuery("!&|"), nullValue());
+    }
+
+    @Test
+    void whenFullTextIsEnabledThenUseFullTextFunctions() {
+        EventTextSearch eventTextSearch = new EventTextSearch(true);
+
+        assertThat(eventTextSearch.matches("cats").toString(), containsString("fts_match"));
+        assertTrue(eventTextSearch.relevance("cats").isPresent());
+    }
+
+    @Test
+    void whenFullTextIsDisabledThenUseSubstringMatch() {
+        EventTextSearch eventTextSearch = new EventTextSearch(false);
+
+        assertThat(eventTextSearch.matches("cats").toString(), containsString("containsIc"));
+        assertFalse(eventTextSearch.relevance("cats").isPresent());
+    }
+}
@@ -0,0 +1,192 @@
+package ru.practicum.ewm.request.personal.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.ewm.category.admin.server.CategoryAdminService;
+import ru.practicum.ewm.category.model.dto.CategoryInDto;
+import ru.practicum.ewm.error.handler.exception.ConditionIsNotMetException;
+import ru.practicum.ewm.event.ConfirmedRequestsReconciler;
+import ru.practicum.ewm.event.admin.service.EventAdminService;
+import ru.practicum.ewm.event.enums.Status;
+import ru.practicum.ewm.event.model.dto.EventFullOutDto;
+import ru.practicum.ewm.event.model.dto.EventInDto;
+import ru.practicum.ewm.event.model.dto.LocationDto;
+import ru.practicum.ewm.event.personal.service.EventPersonalService;
+import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.request.model.dto.RequestOutDto;
+import ru.practicum.ewm.request.repository.RequestRepository;
+import ru.practicum.ewm.user.admin.service.UserService;
+import ru.practicum.ewm.user.model.dto.UserInDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(
+        properties = "db.name=concurrency",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ParticipantLimitConcurrencyTest {
+    private static final int LIMIT = 10;
+    private static final int REQUESTERS = 40;
+    private static final int THREADS = 16;
+
+    private final RequestService requestService;
+    private final EventPersonalService eventPersonalService;
+    private final EventAdminService eventAdminService;
+    private final CategoryAdminService categoryAdminService;
+    private final UserService userService;
+    private final RequestRepository requestRepository;
+    private final EventRepository eventRepository;
+    private final ConfirmedRequestsReconciler confirmedRequestsReconciler;
+    private final List<Long> userIds = new ArrayList<>();
+    private long eventId;
+
+    @Test
+    void whenCreateRequestsConcurrentlyThenConfirmExactlyLimit() throws InterruptedException {
+        eventId = initPublishedEvent(false);
+        List<Long> requesters = initUsers(REQUESTERS);
+
+        AtomicInteger rejected = runConcurrently(requesters,
+                requesterId -> requestService.createRequest(requesterId, eventId));
+
+        assertThat(rejected.get(), equalTo(REQUESTERS - LIMIT));
+        assertThat(eventRepository.getConfirmedRequests(eventId), equalTo(LIMIT));
+        assertThat(countConfirmedRequests(), equalTo((long) LIMIT));
+    }
+
+    @Test
+    void whenConfirmRequestsConcurrentlyThenConfirmExactlyLimit() throws InterruptedException {
+        eventId = initPublishedEvent(true);
+        long initiatorId = userIds.get(0);
+        List<Long> requestIds = initUsers(REQUESTERS).stream()
+                .map(requesterId -> requestService.createRequest(requesterId, eventId))
+                .map(RequestOutDto::getId)
+                .collect(Collectors.toList());
+
+        AtomicInteger rejected = runConcurrently(requestIds,
+                requestId -> eventPersonalService.confirmRequest(initiatorId, eventId, requestId));
+
+        assertThat(rejected.get(), equalTo(REQUESTERS - LIMIT));
+        assertThat(eventRepository.getConfirmedRequests(eventId), equalTo(LIMIT));
+        assertThat(countConfirmedRequests(), equalTo((long) LIMIT));
+    }
+
+    @Test
+    void whenReconcileDuringConfirmationsThenNeverRewriteCounter() throws Exception {
+        eventId = initPublishedEvent(true);
+        long initiatorId = userIds.get(0);
+        List<Long> requestIds = initUsers(REQUESTERS).stream()
+                .map(requesterId -> requestService.createRequest(requesterId, eventId))
+                .map(RequestOutDto::getId)
+                .collect(Collectors.toList());
+
+        AtomicBoolean confirming = new AtomicBoolean(true);
+        AtomicInteger repaired = new AtomicInteger();
+        ExecutorService reconciler = Executors.newSingleThreadExecutor();
+        Future<?> reconciling = reconciler.submit(() -> {
+            while (confirming.get()) {
+                if (confirmedRequestsReconciler.repair(eventId)) repaired.incrementAndGet();
+            }
+        });
+
+        AtomicInteger rejected;
+        try {
+            rejected = runConcurrently(requestIds,
+                    requestId -> eventPersonalService.confirmRequest(initiatorId, eventId, requestId));
+        } finally {
+            confirming.set(false);
+        }
+        reconciling.get(30, TimeUnit.SECONDS);
+        reconciler.shutdown();
+
+        assertThat(repaired.get(), equalTo(0));
+        assertThat(rejected.get(), equalTo(REQUESTERS - LIMIT));
+        assertThat(eventRepository.getConfirmedRequests(eventId), equalTo(LIMIT));
+        assertThat(countConfirmedRequests(), equalTo((long) LIMIT));
+    }
+
+    private AtomicInteger runConcurrently(List<Long> ids, LongConsumer action) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = ids.stream()
+                .map(id -> executor.submit(() -> {
+                    start.await();
+                    try {
+                        action.accept(id);
+                    } catch (ConditionIsNotMetException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }))
+                .collect(Collectors.toList());
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        executor.shutdown();
+
+        return rejected;
+    }
+
+    private long countConfirmedRequests() {
+        return requestRepository.findAllByEventId(eventId).stream()
+                .filter(request -> request.getStatus() == Status.CONFIRMED)
+                .count();
+    }
+
+    private long initPublishedEvent(boolean requestModeration) {
+        long categoryId = categoryAdminService.createCategory(CategoryInDto.builder()
+                .name("concurrency " + UUID.randomUUID())
+                .build()).getId();
+        long initiatorId = initUsers(1).get(0);
+
+        EventFullOutDto event = eventPersonalService.createEvent(initiatorId, EventInDto.builder()
+                .paid(false)
+                .category(categoryId)
+                .requestModeration(requestModeration)
+                .participantLimit(LIMIT)
+                .annotation("annotation of the event with a hot limit")
+                .description("description of the event with a hot limit")
+                .location(LocationDto.builder()
+                        .latitude(55.7558f)
+                        .longitude(37.6173f)
+                        .build())
+                .eventDate(LocalDateTime.now().plusDays(3))
+                .title("event with a hot limit")
+                .build());
+        eventAdminService.publishEvent(event.getId());
+
+        return event.getId();
+    }
+
+    private List<Long> initUsers(int count) {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            created.add(userService.createUser(UserInDto.builder()
+                    .name("Requester")
+                    .email(String.format("requester%s@ya.ru", UUID.randomUUID()))
+                    .build()).getId());
+        }
+        userIds.addAll(created);
+
+        return created;
+    }
+}
@@ -17,6 +17,7 @@ import ru.practicum.ewm.event.enums.State;
 import ru.practicum.ewm.event.enums.Status;
 import ru.practicum.ewm.event.model.Event;
 import ru.practicum.ewm.event.repository.EventRepository;
+import ru.practicum.ewm.event.shared.service.EventSearchCache;
 import ru.practicum.ewm.request.model.Request;
 import ru.practicum.ewm.request.model.dto.RequestOutDto;
 import ru.practicum.ewm.request.model.mapper.RequestMapper;
@@ -42,6 +43,8 @@ class RequestServiceImplTest {
     private EventRepository eventRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private EventSearchCache eventSearchCache;
     private Event event;
     private Request request;
     private User user;
@@ -97,9 +100,6 @@ class RequestServiceImplTest {
         Mockito.verify(eventRepository, Mockito.never())
                 .findById(10L);
 
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(Mockito.anyLong(), Mockito.any(Status.class));
-
         Mockito.verify(userRepository, Mockito.never())
                 .findById(16L);
 
@@ -132,9 +132,6 @@ class RequestServiceImplTest {
         Mockito.verify(eventRepository, Mockito.times(1))
                 .findById(10L);
 
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(Mockito.anyLong(), Mockito.any(Status.class));
-
         Mockito.verify(userRepository, Mockito.never())
                 .findById(16L);
 
@@ -165,9 +162,6 @@ class RequestServiceImplTest {
         Mockito.verify(eventRepository, Mockito.times(1))
                 .findById(10L);
 
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(Mockito.anyLong(), Mockito.any(Status.class));
-
         Mockito.verify(userRepository, Mockito.never())
                 .findById(16L);
 
@@ -185,8 +179,7 @@ class RequestServiceImplTest {
         Mockito.when(eventRepository.findById(10L))
                 .thenReturn(Optional.of(event));
 
-        Mockito.when(requestRepository.countByEventIdAndStatus(10, Status.CONFIRMED))
-                .thenReturn(10L);
+        event.setConfirmedRequests(10);
 
         final ConditionIsNotMetException exception = Assertions.assertThrows(
                 ConditionIsNotMetException.class,
@@ -201,9 +194,6 @@ class RequestServiceImplTest {
         Mockito.verify(eventRepository, Mockito.times(1))
                 .findById(10L);
 
-        Mockito.verify(requestRepository, Mockito.times(1))
-                .countByEventIdAndStatus(Mockito.anyLong(), Mockito.any(Status.class));
-
         Mockito.verify(userRepository, Mockito.never())
                 .findById(16L);
 
@@ -232,9 +222,6 @@ class RequestServiceImplTest {
         Mockito.verify(eventRepository, Mockito.times(1))
                 .findById(10L);
 
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(Mockito.anyLong(), Mockito.any(Status.class));
-
         Mockito.verify(userRepository, Mockito.never())
                 .findById(16L);
 
@@ -266,9 +253,6 @@ class RequestServiceImplTest {
         Mockito.verify(eventRepository, Mockito.times(1))
                 .findById(10L);
 
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(Mockito.anyLong(), Mockito.any(Status.class));
-
         Mockito.verify(userRepository, Mockito.times(1))
                 .findById(16L);
 
@@ -303,14 +287,61 @@ class RequestServiceImplTest {
         Mockito.verify(eventRepository, Mockito.times(1))
                 .findById(10L);
 
-        Mockito.verify(requestRepository, Mockito.never())
-                .countByEventIdAndStatus(Mockito.anyLong(), Mockito.any(Status.class));
-
         Mockito.verify(userRepository, Mockito.times(1))
                 .findById(16L);
 
         Mockito.verify(requestRepository, Mockito.times(1))
                 .save(Mockito.any(Request.class));
+
+        Mockito.verify(eventRepository, Mockito.never())
+                .reserveParticipantPlace(Mockito.anyLong());
+    }
+
+    @Test
+    void whenCreateRequestIfModerationIsOffThenReserveParticipantPlace() {
+        Mockito.when(requestRepository.existsByRequesterIdAndEventId(16, 10))
+                .thenReturn(false);
+
+        Mockito.when(eventRepository.findById(10L))
+                .thenReturn(Optional.of(event));
+
+        Mockito.when(userRepository.findById(16L))
+                .thenReturn(Optional.of(user));
+
+        request.setStatus(Status.CONFIRMED);
+
+        Mockito.when(eventRepository.reserveParticipantPlace(10))
+                .thenReturn(1);
+
+        Mockito.when(requestRepository.save(Mockito.any(Request.class)))
+                .thenReturn(request);
+
+        requestService.createRequest(16, 10);
+
+        Mockito.verify(eventRepository, Mockito.times(1))
+                .reserveParticipantPlace(10);
+
+        Mockito.verify(eventSearchCache, Mockito.times(1))
+                .invalidate(10);
+    }
+
+    @Test
+    void whenCancelConfirmedRequestThenDecrementConfirmedRequests() {
+        request.setStatus(Status.CONFIRMED);
+
+        Mockito.when(requestRepository.findById(5L))
+                .thenReturn(Optional.of(request));
+
+        Mockito.when(requestRepository.save(request))
+                .thenReturn(request);
+
+        requestService.cancelRequest(16, 5);
+
+        Mockito.verify(eventRepository, Mockito.times(1))
+                .decrementConfirmedRequests(10);
+
+        Mockito.verify(eventSearchCache, Mockito.times(1))
+                .invalidate(10);
     }
 
     @Test
@@ -0,0 +1,56 @@
+package ru.practicum.ewm.request.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.event.enums.Status;
+import ru.practicum.ewm.util.SqlCapture;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@DataJpaTest(properties = SqlCapture.PROPERTY)
+class RequestRepositoryTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @BeforeEach
+    void setUp() {
+        SqlCapture.clear();
+    }
+
+    @Test
+    void countByEventIdAndStatusUsesEventStatusIndex() {
+        requestRepository.countByEventIdAndStatus(1, Status.CONFIRMED);
+
+        assertThat(explain(SqlCapture.single(), 1, Status.CONFIRMED.name()),
+                containsString("/* PUBLIC.IDX_REQUEST_EVENT_EVENT_STATUS: "));
+    }
+
+    @Test
+    void existsByRequesterIdAndEventIdUsesRequesterEventIndex() {
+        requestRepository.existsByRequesterIdAndEventId(1, 2);
+
+        assertThat(explain(SqlCapture.single(), 1, 2),
+                containsString("/* PUBLIC.IDX_REQUEST_EVENT_REQUESTER_EVENT: "));
+    }
+
+    /**
+     * H2 indexes every foreign key on its own and picks that index for a filter on the key alone, so only the
+     * lookup by the key column is asserted here.
+     */
+    @Test
+    void findAllByRequesterIdLooksUpRequesterInIndex() {
+        requestRepository.findAllByRequesterId(1);
+
+        assertThat(explain(SqlCapture.single(), 1), containsString(": REQUESTER = ?1 */"));
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+}
@@ -22,6 +22,7 @@ import ru.practicum.ewm.user.admin.service.UserService;
 import ru.practicum.ewm.user.model.dto.UserInDto;
 import ru.practicum.ewm.user.model.dto.UserOutDto;
 import ru.practicum.ewm.user.model.mapper.UserMapper;
+import ru.practicum.ewm.util.Cursor;
 import ru.practicum.ewm.util.TextProcessing;
 
 import javax.validation.ConstraintViolationException;
@@ -68,7 +69,7 @@ class UserControllerTest implements TextProcessing {
     @Test
     void getUsersStatusIsOk() throws Exception {
         Mockito
-                .when(userService.getUsers(null, 0, 10))
+                .when(userService.getUsers(null, 0, 10, null))
                 .thenReturn(List.of(user, another));
 
         mockMvc.perform(get("/admin/users")
@@ -82,6 +83,39 @@ class UserControllerTest implements TextProcessing {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].email").value("googly@gmail.com"));
     }
 
+    @Test
+    void getUsersIfPageIsFullThenReturnNextCursorHeader() throws Exception {
+        UserOutDto last = UserOutDto.builder()
+                .id(7L)
+                .email("last@gmail.com")
+                .name("Last")
+                .build();
+
+        Mockito
+                .when(userService.getUsers(null, 0, 2, "Mw"))
+                .thenReturn(List.of(user, last));
+
+        mockMvc.perform(get("/admin/users?size=2&cursor=Mw")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(Cursor.NEXT_CURSOR_HEADER,
+                        Cursor.of(7L).encode()));
+    }
+
+    @Test
+    void getUsersIfPageIsNotFullThenNoNextCursorHeader() throws Exception {
+        Mockito
+                .when(userService.getUsers(null, 0, 10, null))
+                .thenReturn(List.of(user, another));
+
+        mockMvc.perform(get("/admin/users")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(Cursor.NEXT_CURSOR_HEADER));
+    }
+
     @Test
     void getUsersIfFromParamIsNegativeThenStatusIsBadRequest() throws Exception {
         mockMvc.perform(get("/admin/users?from=-1")
@@ -49,7 +49,7 @@ class UserServiceImplTest {
         Mockito.when(userRepository.findAll(Mockito.any(Pagination.class)))
                 .thenReturn(users);
 
-        List<UserOutDto> found = userService.getUsers(null, 0, 10);
+        List<UserOutDto> found = userService.getUsers(null, 0, 10, null);
 
         assertThat(found.size(), equalTo(1));
         assertThat(found.get(0), equalTo(UserMapper.toUserOut(user)));
@@ -68,7 +68,7 @@ class UserServiceImplTest {
         Mockito.when(userRepository.findAll(Mockito.any(BooleanExpression.class), Mockito.any(Pagination.class)))
                 .thenReturn(users);
 
-        List<UserOutDto> found = userService.getUsers(new int[] {1, 2, 3}, 0, 10);
+        List<UserOutDto> found = userService.getUsers(new int[] {1, 2, 3}, 0, 10, null);
 
         assertThat(found.size(), equalTo(1));
         assertThat(found.get(0), equalTo(UserMapper.toUserOut(user)));
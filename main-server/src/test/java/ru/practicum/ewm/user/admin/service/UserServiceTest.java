@@ -7,10 +7,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.error.handler.exception.InvalidRequestException;
 import ru.practicum.ewm.user.model.User;
 import ru.practicum.ewm.user.model.dto.UserInDto;
 import ru.practicum.ewm.user.model.dto.UserOutDto;
 import ru.practicum.ewm.user.model.mapper.UserMapper;
+import ru.practicum.ewm.util.Cursor;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -49,19 +51,42 @@ class UserServiceTest {
         UserOutDto first = userService.createUser(userIn);
         UserOutDto second = userService.createUser(another);
 
-        List<UserOutDto> users = userService.getUsers(null, 0, 10);
+        List<UserOutDto> users = userService.getUsers(null, 0, 10, null);
 
         assertThat(users.size(), equalTo(2));
         assertThat(users.get(0), equalTo(first));
         assertThat(users.get(1), equalTo(second));
 
         List<UserOutDto> usersWithCertainId = userService.getUsers(new int[] {Math.toIntExact(second.getId())},
-                0, 10);
+                0, 10, null);
 
         assertThat(usersWithCertainId.size(), equalTo(1));
         assertThat(usersWithCertainId.get(0), equalTo(second));
     }
 
+    @Test
+    void getUsersWithCursorSeeksAfterLastSeenId() {
+        UserOutDto first = userService.createUser(userIn);
+        UserOutDto second = userService.createUser(another);
+
+        List<UserOutDto> firstPage = userService.getUsers(null, 0, 1, null);
+        List<UserOutDto> secondPage = userService.getUsers(null, 0, 1, Cursor.of(first.getId()).encode());
+        List<UserOutDto> lastPage = userService.getUsers(null, 0, 1, Cursor.of(second.getId()).encode());
+
+        assertThat(firstPage, equalTo(List.of(first)));
+        assertThat(secondPage, equalTo(List.of(second)));
+        assertThat(lastPage.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    void getUsersIfCursorIsInvalidThenThrowsInvalidRequestException() {
+        final InvalidRequestException exception = Assertions.assertThrows(
+                InvalidRequestException.class,
+                () -> userService.getUsers(null, 0, 1, "not-a-cursor"));
+
+        Assertions.assertEquals("Invalid cursor: not-a-cursor", exception.getMessage());
+    }
+
     @Test
     void createUser() {
         UserOutDto saved = userService.createUser(userIn);
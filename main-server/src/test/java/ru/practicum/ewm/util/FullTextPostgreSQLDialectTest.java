@@ -0,0 +1,32 @@
+package ru.practicum.ewm.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class FullTextPostgreSQLDialectTest {
+    private static final String DOCUMENT = "setweight(to_tsvector('simple', e.title), 'A') || " +
+            "setweight(to_tsvector('simple', e.annotation), 'B') || " +
+            "setweight(to_tsvector('simple', e.description), 'C')";
+
+    private final FullTextPostgreSQLDialect dialect = new FullTextPostgreSQLDialect();
+
+    @Test
+    void whenRenderMatchThenUseIndexedDocument() {
+        String sql = dialect.getFunctions().get("fts_match")
+                .render(null, List.of("e.title", "e.annotation", "e.description", "?"), null);
+
+        assertThat(sql, equalTo("(" + DOCUMENT + ") @@ to_tsquery('simple', ?)"));
+    }
+
+    @Test
+    void whenRenderRankThenUseIndexedDocument() {
+        String sql = dialect.getFunctions().get("fts_rank")
+                .render(null, List.of("e.title", "e.annotation", "e.description", "?"), null);
+
+        assertThat(sql, equalTo("ts_rank(" + DOCUMENT + ", to_tsquery('simple', ?))"));
+    }
+}
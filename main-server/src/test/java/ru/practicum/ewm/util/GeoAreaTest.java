@@ -0,0 +1,71 @@
+package ru.practicum.ewm.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.ewm.error.handler.exception.InvalidRequestException;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.nullValue;
+
+class GeoAreaTest {
+
+    @Test
+    void whenDistanceToPointThenUseHaversineFormula() {
+        GeoArea moscow = GeoArea.of(55.7558f, 37.6173f, 10f);
+
+        assertThat(moscow.distanceTo(59.9343, 30.3351), closeTo(634, 2));
+        assertThat(moscow.distanceTo(55.7558, 37.6173), closeTo(0, 0.001));
+    }
+
+    @Test
+    void whenGetCellsThenCoverPointsWithinRadius() {
+        GeoArea area = GeoArea.of(55.7558f, 37.6173f, 10f);
+        List<Long> cells = area.getCells();
+
+        assertThat(cells.size(), equalTo(3 * 4));
+        assertThat(cells, hasItem(GeoArea.cellOf(55.7558, 37.6173)));
+        assertThat(cells, hasItem(GeoArea.cellOf(55.8, 37.7)));
+    }
+
+    @Test
+    void whenRadiusIsTooLargeThenSkipCells() {
+        assertThat(GeoArea.of(55.7558f, 37.6173f, 500f).getCells(), equalTo(List.of()));
+        assertThat(GeoArea.of(89.99f, 0f, 10f).getCells(), equalTo(List.of()));
+    }
+
+    @Test
+    void whenRadiusExceedsMaxRadiusThenThrowsInvalidRequestException() {
+        final InvalidRequestException exception = Assertions.assertThrows(
+                InvalidRequestException.class,
+                () -> GeoArea.of(55.7558f, 37.6173f, 20000f));
+
+        Assertions.assertEquals("radius must be greater than 0 and not greater than 500 km", exception.getMessage());
+    }
+
+    @Test
+    void whenGetMaxHaversineThenMatchDistanceOfRadius() {
+        GeoArea area = GeoArea.of(55.7558f, 37.6173f, 10f);
+        double dLat = Math.toRadians(area.getMaxLatitude() - area.getLatitude());
+
+        assertThat(area.getMaxHaversine(), closeTo(Math.pow(Math.sin(dLat / 2), 2), 1e-12));
+    }
+
+    @Test
+    void whenLatAndLonAreNotPassedThenReturnNull() {
+        assertThat(GeoArea.of(null, null, 10f), nullValue());
+    }
+
+    @Test
+    void whenOnlyLatIsPassedThenThrowsInvalidRequestException() {
+        final InvalidRequestException exception = Assertions.assertThrows(
+                InvalidRequestException.class,
+                () -> GeoArea.of(55.7558f, null, 10f));
+
+        Assertions.assertEquals("lat and lon must be passed together", exception.getMessage());
+    }
+}
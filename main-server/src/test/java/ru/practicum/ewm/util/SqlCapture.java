@@ -0,0 +1,32 @@
+package ru.practicum.ewm.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL generated by Hibernate, so tests can EXPLAIN the statements the repositories really run.
+ * It is registered with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SqlCapture implements StatementInspector {
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+            "ru.practicum.ewm.util.SqlCapture";
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    public static String single() {
+        if (STATEMENTS.size() != 1) throw new IllegalStateException("one statement expected, but got " + STATEMENTS);
+
+        return STATEMENTS.get(0);
+    }
+}
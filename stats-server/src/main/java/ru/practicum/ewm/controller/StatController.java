@@ -1,22 +1,32 @@
 package ru.practicum.ewm.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import ru.practicum.ewm.exception.HitsParsingException;
 import ru.practicum.ewm.model.dto.ViewInDto;
 import ru.practicum.ewm.model.dto.ViewOutDto;
+import ru.practicum.ewm.model.dto.ViewQueryInDto;
+import ru.practicum.ewm.model.dto.ViewQueryOutDto;
 import ru.practicum.ewm.service.StatService;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
 @RequestMapping
 public class StatController {
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
     private final StatService statService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public StatController(StatService statService) {
+    public StatController(StatService statService, ObjectMapper objectMapper) {
         this.statService = statService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/hit")
@@ -24,11 +34,36 @@ public class StatController {
         statService.saveView(viewInDto);
     }
 
+    @PostMapping(value = "/hits", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void addViews(@RequestBody List<ViewInDto> viewInDtos) {
+        statService.saveViews(viewInDtos);
+    }
+
+    @PostMapping(value = "/hits", consumes = APPLICATION_NDJSON)
+    public void addViewsStream(InputStream body) {
+        List<ViewInDto> viewInDtos;
+        try {
+            viewInDtos = objectMapper.readerFor(ViewInDto.class)
+                    .<ViewInDto>readValues(body)
+                    .readAll();
+        } catch (IOException e) {
+            throw new HitsParsingException(String.format("the views stream could not be parsed: %s",
+                    e.getMessage()));
+        }
+        statService.saveViews(viewInDtos);
+    }
+
     @GetMapping("/stats")
     public List<ViewOutDto> getStats(@RequestParam(value = "start", required = false) String start,
                                      @RequestParam(value = "end", required = false) String end,
                                      @RequestParam(required = false) String[] uris,
-                                     @RequestParam(defaultValue = "false") boolean unique) {
-        return statService.getStats(start, end, uris, unique);
+                                     @RequestParam(defaultValue = "false") boolean unique,
+                                     @RequestParam(defaultValue = "false") boolean approximate) {
+        return statService.getStats(start, end, uris, unique, approximate);
+    }
+
+    @PostMapping("/stats/query")
+    public ViewQueryOutDto queryStats(@RequestBody ViewQueryInDto query) {
+        return statService.queryStats(query);
     }
 }
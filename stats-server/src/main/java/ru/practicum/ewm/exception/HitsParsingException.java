@@ -0,0 +1,12 @@
+package ru.practicum.ewm.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class HitsParsingException extends RuntimeException {
+
+    public HitsParsingException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.ewm.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidViewQueryException extends RuntimeException {
+
+    public InvalidViewQueryException(String message) {
+        super(message);
+    }
+}
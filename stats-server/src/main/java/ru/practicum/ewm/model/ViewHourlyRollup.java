@@ -0,0 +1,31 @@
+package ru.practicum.ewm.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "view_hourly_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uq_view_hourly_rollups",
+                columnNames = {"uri", "app", "bucket_start"}))
+public class ViewHourlyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long id;
+    private String app;
+    private String uri;
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+    private long hits;
+    @Column(name = "ip_sketch", columnDefinition = "BYTEA")
+    private byte[] ipSketch;
+}
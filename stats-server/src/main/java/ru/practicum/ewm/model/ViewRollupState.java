@@ -0,0 +1,24 @@
+package ru.practicum.ewm.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "view_rollup_state")
+public class ViewRollupState {
+    @Id
+    @Column(name = "state_id")
+    private Integer id;
+    @Column(name = "rolled_up_to")
+    private long rolledUpTo;
+    @Column(name = "observed_max")
+    private long observedMax;
+}
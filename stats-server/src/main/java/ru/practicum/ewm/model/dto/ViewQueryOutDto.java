@@ -0,0 +1,17 @@
+package ru.practicum.ewm.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ViewQueryOutDto {
+    private Map<Long, Long> ids;
+    private Map<String, Long> uris;
+}
@@ -3,9 +3,13 @@ package ru.practicum.ewm.repo;
 import ru.practicum.ewm.model.ViewWithHits;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface StatRepositoryCustom {
 
     List<ViewWithHits> getViewWithHits(LocalDateTime start, LocalDateTime end, String uri, boolean unique);
+
+    List<ViewWithHits> getViewWithHits(LocalDateTime start, LocalDateTime end, Collection<String> uris,
+                                       boolean unique);
 }
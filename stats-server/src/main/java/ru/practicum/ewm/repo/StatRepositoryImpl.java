@@ -14,6 +14,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static ru.practicum.ewm.model.QView.view;
@@ -26,15 +27,23 @@ public class StatRepositoryImpl implements StatRepositoryCustom {
 
     @Override
     public List<ViewWithHits> getViewWithHits(LocalDateTime start, LocalDateTime end, String uri, boolean unique) {
-        return buildQuery(start, end, uri)
+        return getViewWithHits(start, end, List.of(uri), unique);
+    }
+
+    @Override
+    public List<ViewWithHits> getViewWithHits(LocalDateTime start, LocalDateTime end, Collection<String> uris,
+                                              boolean unique) {
+        if (uris.isEmpty()) return new ArrayList<>();
+
+        return buildQuery(start, end, uris)
                 .transform(buildDtoTransformer(unique));
     }
 
-    private JPAQuery<Tuple> buildQuery(LocalDateTime start, LocalDateTime end, String uri) {
+    private JPAQuery<Tuple> buildQuery(LocalDateTime start, LocalDateTime end, Collection<String> uris) {
         return new JPAQuery<>(em)
                 .select(view.app, view.uri, view.ip)
                 .from(view)
-                .where(getFinalCondition(start, end, uri))
+                .where(getFinalCondition(start, end, uris))
                 .groupBy(view.uri, view.app);
     }
 
@@ -45,10 +54,10 @@ public class StatRepositoryImpl implements StatRepositoryCustom {
                         view.ip.countDistinct().as("hits") : view.ip.count().as("hits")));
     }
 
-    private BooleanExpression getFinalCondition(LocalDateTime start, LocalDateTime end, String uri) {
+    private BooleanExpression getFinalCondition(LocalDateTime start, LocalDateTime end, Collection<String> uris) {
         List<BooleanExpression> conditions = new ArrayList<>();
 
-        conditions.add(view.uri.eq(uri));
+        conditions.add(uris.size() == 1 ? view.uri.eq(uris.iterator().next()) : view.uri.in(uris));
         if (start != null) conditions.add(view.timestamp.after(start));
         if (end != null) conditions.add(view.timestamp.before(end));
 
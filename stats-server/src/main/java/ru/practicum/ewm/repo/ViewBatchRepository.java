@@ -0,0 +1,26 @@
+package ru.practicum.ewm.repo;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.ewm.model.View;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ViewBatchRepository {
+    private static final int BATCH_SIZE = 500;
+    private static final String INSERT_VIEW = "INSERT INTO views (app, uri, ip, view_date) VALUES (?, ?, ?, ?)";
+    private final JdbcTemplate jdbcTemplate;
+
+    public void saveAll(List<View> views) {
+        jdbcTemplate.batchUpdate(INSERT_VIEW, views, BATCH_SIZE, (statement, view) -> {
+            statement.setString(1, view.getApp());
+            statement.setString(2, view.getUri());
+            statement.setString(3, view.getIp());
+            statement.setTimestamp(4, Timestamp.valueOf(view.getTimestamp()));
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.ewm.repo;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ViewPartitionRepository {
+    private static final String FIND_PARTITIONS = "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'views'";
+    private static final String EXPIRED_DEFAULT_ROWS = "views_default_expired";
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+
+    public List<String> findPartitions() {
+        return jdbcTemplate.queryForList(FIND_PARTITIONS, String.class);
+    }
+
+    @Transactional
+    public void createPartition(String name, LocalDate from, LocalDate to) {
+        jdbcTemplate.execute(String.format("CREATE TABLE %s (LIKE views INCLUDING DEFAULTS INCLUDING CONSTRAINTS)",
+                name));
+        jdbcTemplate.update(String.format("WITH moved AS (DELETE FROM views_default WHERE view_date >= ? " +
+                        "AND view_date < ? RETURNING *) INSERT INTO %s SELECT * FROM moved", name),
+                Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay()));
+        jdbcTemplate.execute(String.format("ALTER TABLE views ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')",
+                name, from, to));
+    }
+
+    @Transactional
+    public void detachPartition(String name) {
+        jdbcTemplate.execute(String.format("ALTER TABLE views DETACH PARTITION %s", name));
+    }
+
+    @Transactional
+    public void dropPartition(String name) {
+        detachPartition(name);
+        jdbcTemplate.execute(String.format("DROP TABLE %s", name));
+    }
+
+    @Transactional
+    public int deleteFromDefaultPartition(LocalDate before) {
+        return jdbcTemplate.update("DELETE FROM views_default WHERE view_date < ?",
+                Timestamp.valueOf(before.atStartOfDay()));
+    }
+
+    @Transactional
+    public int moveOutOfDefaultPartition(LocalDate before) {
+        jdbcTemplate.execute(String.format("CREATE TABLE IF NOT EXISTS %s (LIKE views INCLUDING DEFAULTS " +
+                "INCLUDING CONSTRAINTS)", EXPIRED_DEFAULT_ROWS));
+        return jdbcTemplate.update(String.format("WITH moved AS (DELETE FROM views_default WHERE view_date < ? " +
+                "RETURNING *) INSERT INTO %s SELECT * FROM moved", EXPIRED_DEFAULT_ROWS),
+                Timestamp.valueOf(before.atStartOfDay()));
+    }
+}
@@ -0,0 +1,232 @@
+package ru.practicum.ewm.repo;
+
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import ru.practicum.ewm.model.ViewRollupState;
+import ru.practicum.ewm.model.ViewWithHits;
+import ru.practicum.ewm.util.HyperLogLog;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class ViewRollupRepository {
+    private static final int STATE_ID = 1;
+    private static final String BUCKET = "DATE_TRUNC('HOUR', view_date)";
+    private static final String GET_STATE = "SELECT rolled_up_to, observed_max FROM view_rollup_state " +
+            "WHERE state_id = :id FOR UPDATE";
+    private static final String GET_ROLLED_UP_TO = "SELECT rolled_up_to FROM view_rollup_state WHERE state_id = :id";
+    private static final String ROLLED_UP_TO = "(SELECT COALESCE(MAX(rolled_up_to), 0) FROM view_rollup_state " +
+            "WHERE state_id = :stateId)";
+    private static final String INSERT_STATE = "INSERT INTO view_rollup_state (state_id, rolled_up_to, observed_max) " +
+            "VALUES (:id, 0, 0)";
+    private static final String UPDATE_STATE = "UPDATE view_rollup_state SET rolled_up_to = :rolledUpTo, " +
+            "observed_max = :observedMax WHERE state_id = :id";
+    private static final String GET_MAX_VIEW_ID = "SELECT MAX(view_id) FROM views";
+    private static final String GROUP_HITS = "SELECT app, uri, " + BUCKET + " AS bucket_start, ip, " +
+            "COUNT(*) AS hits FROM views WHERE view_id > :from AND view_id <= :to GROUP BY app, uri, " + BUCKET +
+            ", ip";
+    private static final String GET_SKETCHES = "SELECT r.app, r.uri, r.bucket_start, r.ip_sketch " +
+            "FROM view_hourly_rollups r WHERE EXISTS (SELECT 1 FROM views v WHERE v.view_id > :from " +
+            "AND v.view_id <= :to AND v.uri = r.uri AND v.app = r.app AND DATE_TRUNC('HOUR', v.view_date) = " +
+            "r.bucket_start)";
+    private static final String ADD_HITS = "UPDATE view_hourly_rollups SET hits = hits + :hits, " +
+            "ip_sketch = :ipSketch WHERE uri = :uri AND app = :app AND bucket_start = :bucketStart";
+    private static final String INSERT_HITS = "INSERT INTO view_hourly_rollups (app, uri, bucket_start, hits, " +
+            "ip_sketch) VALUES (:app, :uri, :bucketStart, :hits, :ipSketch)";
+    private static final RowMapper<ViewWithHits> VIEW_WITH_HITS = (rs, rowNum) ->
+            new ViewWithHits(rs.getString("app"), rs.getString("uri"), rs.getLong("hits"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ViewRollupState lockState() {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", STATE_ID);
+        List<ViewRollupState> states = jdbcTemplate.query(GET_STATE, params, (rs, rowNum) ->
+                new ViewRollupState(STATE_ID, rs.getLong("rolled_up_to"), rs.getLong("observed_max")));
+
+        if (!states.isEmpty()) return states.get(0);
+
+        jdbcTemplate.update(INSERT_STATE, params);
+        return new ViewRollupState(STATE_ID, 0, 0);
+    }
+
+    public long getRolledUpTo() {
+        List<Long> rolledUpTo = jdbcTemplate.queryForList(GET_ROLLED_UP_TO, new MapSqlParameterSource("id", STATE_ID),
+                Long.class);
+        return rolledUpTo.isEmpty() ? 0 : rolledUpTo.get(0);
+    }
+
+    public long compact(long maxViews) {
+        ViewRollupState state = lockState();
+        long from = state.getRolledUpTo();
+        long to = state.getObservedMax() - from > maxViews ? from + maxViews : state.getObservedMax();
+
+        if (to > from) {
+            MapSqlParameterSource range = new MapSqlParameterSource()
+                    .addValue("from", from)
+                    .addValue("to", to);
+
+            Map<String, Bucket> buckets = new LinkedHashMap<>();
+            jdbcTemplate.query(GROUP_HITS, range, rs -> {
+                String app = rs.getString("app");
+                String uri = rs.getString("uri");
+                Timestamp bucketStart = rs.getTimestamp("bucket_start");
+                Bucket bucket = buckets.computeIfAbsent(app + bucketStart + uri,
+                        key -> new Bucket(app, uri, bucketStart, 0, new HyperLogLog()));
+                bucket.hits += rs.getLong("hits");
+                bucket.sketch.add(rs.getString("ip"));
+            });
+
+            Map<String, byte[]> sketches = new HashMap<>();
+            jdbcTemplate.query(GET_SKETCHES, range, rs -> {
+                sketches.put(rs.getString("app") + rs.getTimestamp("bucket_start") + rs.getString("uri"),
+                        rs.getBytes("ip_sketch"));
+            });
+
+            List<SqlParameterSource> existing = new ArrayList<>();
+            List<SqlParameterSource> missing = new ArrayList<>();
+            buckets.forEach((key, bucket) -> {
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                        .addValue("app", bucket.app)
+                        .addValue("uri", bucket.uri)
+                        .addValue("bucketStart", bucket.bucketStart)
+                        .addValue("hits", bucket.hits);
+
+                byte[] sketch = sketches.get(key);
+                if (sketch != null) bucket.sketch.merge(HyperLogLog.fromBytes(sketch));
+                params.addValue("ipSketch", bucket.sketch.toBytes());
+
+                if (sketch == null) missing.add(params);
+                else existing.add(params);
+            });
+
+            jdbcTemplate.batchUpdate(ADD_HITS, existing.toArray(SqlParameterSource[]::new));
+            jdbcTemplate.batchUpdate(INSERT_HITS, missing.toArray(SqlParameterSource[]::new));
+        } else {
+            to = from;
+        }
+
+        Long maxViewId = jdbcTemplate.getJdbcTemplate().queryForObject(GET_MAX_VIEW_ID, Long.class);
+
+        jdbcTemplate.update(UPDATE_STATE, new MapSqlParameterSource()
+                .addValue("id", STATE_ID)
+                .addValue("rolledUpTo", to)
+                .addValue("observedMax", maxViewId == null ? to : Math.max(maxViewId, to)));
+
+        return to - from;
+    }
+
+    /**
+     * Only total hits are rolled up exactly: the rollups keep a fixed-size sketch of the ips instead of the ips
+     * themselves, so unique hits are either estimated by {@link #getApproximateUniqueHits} or counted on the views.
+     */
+    public List<ViewWithHits> getViewWithHits(LocalDateTime start, LocalDateTime end, Collection<String> uris) {
+        if (uris.isEmpty()) return new ArrayList<>();
+
+        MapSqlParameterSource params = new MapSqlParameterSource("uris", uris);
+        RangeConditions conditions = new RangeConditions(start, end, params);
+
+        String sql = "SELECT app, uri, SUM(hits) AS hits FROM (SELECT app, uri, hits FROM view_hourly_rollups " +
+                "WHERE uri IN (:uris)" + conditions.rollups + " UNION ALL SELECT app, uri, 1 AS hits FROM views " +
+                "WHERE uri IN (:uris)" + conditions.raw + ") t GROUP BY app, uri";
+
+        return jdbcTemplate.query(sql, params, VIEW_WITH_HITS);
+    }
+
+    public List<ViewWithHits> getApproximateUniqueHits(LocalDateTime start, LocalDateTime end,
+                                                       Collection<String> uris) {
+        if (uris.isEmpty()) return new ArrayList<>();
+
+        MapSqlParameterSource params = new MapSqlParameterSource("uris", uris);
+        RangeConditions conditions = new RangeConditions(start, end, params);
+
+        Map<String, ViewWithHits> views = new LinkedHashMap<>();
+        Map<String, HyperLogLog> sketches = new LinkedHashMap<>();
+
+        String sql = "SELECT app, uri, ip_sketch, NULL AS ip FROM view_hourly_rollups WHERE uri IN (:uris)" +
+                conditions.rollups + " UNION ALL SELECT DISTINCT app, uri, NULL, ip FROM views WHERE uri IN (:uris)" +
+                conditions.raw;
+
+        jdbcTemplate.query(sql, params, rs -> {
+            String app = rs.getString("app");
+            String uri = rs.getString("uri");
+            byte[] sketch = rs.getBytes("ip_sketch");
+            views.putIfAbsent(app + uri, new ViewWithHits(app, uri, 0));
+
+            HyperLogLog merged = sketches.computeIfAbsent(app + uri, key -> new HyperLogLog());
+            if (sketch != null) merged.merge(HyperLogLog.fromBytes(sketch));
+            else merged.add(rs.getString("ip"));
+        });
+
+        return views.entrySet().stream()
+                .map(entry -> new ViewWithHits(entry.getValue().getApp(), entry.getValue().getUri(),
+                        sketches.get(entry.getKey()).estimate()))
+                .collect(Collectors.toList());
+    }
+
+    @AllArgsConstructor
+    private static class Bucket {
+        private final String app;
+        private final String uri;
+        private final Timestamp bucketStart;
+        private long hits;
+        private final HyperLogLog sketch;
+    }
+
+    /**
+     * The watermark is read by a subquery of the same statement as the aggregates, so a compaction committed
+     * between two statements can't make the rolled up views count twice.
+     */
+    private static class RangeConditions {
+        private final String rollups;
+        private final String raw;
+
+        private RangeConditions(LocalDateTime start, LocalDateTime end, MapSqlParameterSource params) {
+            LocalDateTime rollupFrom = start == null ? null : start.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            LocalDateTime rollupTo = end == null ? null : end.truncatedTo(ChronoUnit.HOURS);
+
+            params.addValue("stateId", STATE_ID);
+
+            StringBuilder rollups = new StringBuilder();
+            StringBuilder raw = new StringBuilder();
+            StringBuilder uncovered = new StringBuilder("view_id > " + ROLLED_UP_TO);
+
+            if (rollupFrom != null && rollupTo != null && !rollupFrom.isBefore(rollupTo)) {
+                rollups.append(" AND 1 = 0");
+                uncovered.append(" OR 1 = 1");
+            }
+            if (start != null) {
+                params.addValue("start", Timestamp.valueOf(start))
+                        .addValue("rollupFrom", Timestamp.valueOf(rollupFrom));
+                rollups.append(" AND bucket_start >= :rollupFrom");
+                raw.append(" AND view_date > :start");
+                uncovered.append(" OR view_date < :rollupFrom");
+            }
+            if (end != null) {
+                params.addValue("end", Timestamp.valueOf(end))
+                        .addValue("rollupTo", Timestamp.valueOf(rollupTo));
+                rollups.append(" AND bucket_start < :rollupTo");
+                raw.append(" AND view_date < :end");
+                uncovered.append(" OR view_date >= :rollupTo");
+            }
+            raw.append(" AND (").append(uncovered).append(")");
+
+            this.rollups = rollups.toString();
+            this.raw = raw.toString();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.ewm.service;
+
+public enum BackpressurePolicy {
+    BLOCK,
+    DROP,
+    CALLER_RUNS
+}
@@ -0,0 +1,6 @@
+package ru.practicum.ewm.service;
+
+public enum RetentionAction {
+    DROP,
+    DETACH
+}
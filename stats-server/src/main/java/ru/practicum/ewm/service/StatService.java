@@ -2,6 +2,8 @@ package ru.practicum.ewm.service;
 
 import ru.practicum.ewm.model.dto.ViewInDto;
 import ru.practicum.ewm.model.dto.ViewOutDto;
+import ru.practicum.ewm.model.dto.ViewQueryInDto;
+import ru.practicum.ewm.model.dto.ViewQueryOutDto;
 
 import java.util.List;
 
@@ -9,5 +11,9 @@ public interface StatService {
 
     void saveView(ViewInDto viewInDto);
 
-    List<ViewOutDto> getStats(String start, String end, String[] uris, boolean unique);
+    void saveViews(List<ViewInDto> viewInDtos);
+
+    List<ViewOutDto> getStats(String start, String end, String[] uris, boolean unique, boolean approximate);
+
+    ViewQueryOutDto queryStats(ViewQueryInDto query);
 }
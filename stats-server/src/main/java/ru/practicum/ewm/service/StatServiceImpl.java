@@ -3,12 +3,18 @@ package ru.practicum.ewm.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.exception.InvalidViewQueryException;
 import ru.practicum.ewm.exception.UriParamDecodingException;
 import ru.practicum.ewm.model.View;
+import ru.practicum.ewm.model.ViewWithHits;
 import ru.practicum.ewm.model.dto.ViewInDto;
 import ru.practicum.ewm.model.dto.ViewOutDto;
+import ru.practicum.ewm.model.dto.ViewQueryInDto;
+import ru.practicum.ewm.model.dto.ViewQueryOutDto;
 import ru.practicum.ewm.model.mapper.ViewMapper;
 import ru.practicum.ewm.repo.StatRepository;
+import ru.practicum.ewm.repo.ViewBatchRepository;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
@@ -17,8 +23,11 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,23 +36,45 @@ import java.util.stream.Collectors;
 public class StatServiceImpl implements StatService {
     private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private final StatRepository statRepository;
+    private final ViewIngestionQueue viewIngestionQueue;
+    private final ViewBatchRepository viewBatchRepository;
+    private final ViewRollupService viewRollupService;
 
     @Override
     public void saveView(ViewInDto viewInDto) {
+        if (viewIngestionQueue.isAsync()) {
+            viewIngestionQueue.submit(ViewMapper.toView(viewInDto));
+            log.debug("new view queued for writing: uri={}", viewInDto.getUri());
+            return;
+        }
+
         View view = statRepository.save(ViewMapper.toView(viewInDto));
         log.info("new view added: id={}, uri={}", view.getId(), view.getUri());
     }
 
     @Override
-    public List<ViewOutDto> getStats(String start, String end, String[] uris, boolean unique) {
+    @Transactional
+    public void saveViews(List<ViewInDto> viewInDtos) {
+        if (viewInDtos.isEmpty()) return;
+
+        viewBatchRepository.saveAll(viewInDtos.stream()
+                .map(ViewMapper::toView)
+                .collect(Collectors.toList()));
+        log.info("{} new views added in one batch", viewInDtos.size());
+    }
+
+    @Override
+    public List<ViewOutDto> getStats(String start, String end, String[] uris, boolean unique,
+                                     boolean approximate) {
         if (uris == null) return new ArrayList<>();
 
         LocalDateTime finalStartDateTime = mapToLocalDateTime(start);
         LocalDateTime finalEndDateTime = mapToLocalDateTime(end);
 
-        List<ViewOutDto> views = Arrays.stream(uris)
-                .map(uri -> statRepository.getViewWithHits(finalStartDateTime, finalEndDateTime, uri, unique))
-                .flatMap(Collection::stream)
+        Set<String> distinctUris = new LinkedHashSet<>(Arrays.asList(uris));
+
+        List<ViewOutDto> views = getViewWithHits(finalStartDateTime, finalEndDateTime, distinctUris, unique,
+                approximate).stream()
                 .map(ViewMapper::toViewOut)
                 .collect(Collectors.toList());
 
@@ -51,6 +82,49 @@ public class StatServiceImpl implements StatService {
         return views;
     }
 
+    @Override
+    public ViewQueryOutDto queryStats(ViewQueryInDto query) {
+        List<Long> ids = query.getIds() == null ? List.of() : query.getIds();
+        List<String> uris = query.getUris() == null ? List.of() : query.getUris();
+
+        if (!ids.isEmpty() && query.getUriPrefix() == null)
+            throw new InvalidViewQueryException("uriPrefix is required when ids are passed");
+
+        Map<String, Long> uriToId = new HashMap<>();
+        ids.forEach(id -> uriToId.put(query.getUriPrefix() + id, id));
+
+        Set<String> distinctUris = new LinkedHashSet<>(uriToId.keySet());
+        distinctUris.addAll(uris);
+
+        Map<Long, Long> hitsById = new HashMap<>();
+        Map<String, Long> hitsByUri = new HashMap<>();
+        if (distinctUris.isEmpty()) return new ViewQueryOutDto(hitsById, hitsByUri);
+
+        Set<String> requestedUris = new LinkedHashSet<>(uris);
+        for (ViewWithHits view : getViewWithHits(query.getStart(), query.getEnd(), distinctUris, query.isUnique(),
+                query.isApproximate())) {
+            if (query.getApp() != null && !query.getApp().equalsIgnoreCase(view.getApp())) continue;
+
+            Long id = uriToId.get(view.getUri());
+            if (id != null) hitsById.merge(id, view.getHits(), Long::sum);
+            if (requestedUris.contains(view.getUri())) hitsByUri.merge(view.getUri(), view.getHits(), Long::sum);
+        }
+
+        log.info("query for statistic of views successfully processed, ids found={}, uris found={}",
+                hitsById.size(), hitsByUri.size());
+        return new ViewQueryOutDto(hitsById, hitsByUri);
+    }
+
+    private List<ViewWithHits> getViewWithHits(LocalDateTime start, LocalDateTime end, Set<String> uris,
+                                               boolean unique, boolean approximate) {
+        if (!viewRollupService.isEnabled() || unique && !approximate)
+            return statRepository.getViewWithHits(start, end, uris, unique);
+
+        if (unique) return viewRollupService.getApproximateUniqueHits(start, end, uris);
+
+        return viewRollupService.getViewWithHits(start, end, uris);
+    }
+
     private LocalDateTime mapToLocalDateTime(String encoded) {
         if (encoded == null) return null;
 
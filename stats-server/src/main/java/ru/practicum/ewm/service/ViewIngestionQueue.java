@@ -0,0 +1,173 @@
+package ru.practicum.ewm.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.model.View;
+import ru.practicum.ewm.repo.ViewBatchRepository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ViewIngestionQueue {
+    private final ViewBatchRepository viewBatchRepository;
+    private final boolean async;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final BackpressurePolicy backpressure;
+    private final BlockingQueue<View> queue;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean stopped;
+    private ScheduledExecutorService writer;
+
+    public ViewIngestionQueue(ViewBatchRepository viewBatchRepository,
+                              @Value("${stats.ingestion.async:false}") boolean async,
+                              @Value("${stats.ingestion.queue-capacity:10000}") int queueCapacity,
+                              @Value("${stats.ingestion.batch-size:500}") int batchSize,
+                              @Value("${stats.ingestion.flush-interval-ms:200}") long flushIntervalMs,
+                              @Value("${stats.ingestion.offer-timeout-ms:50}") long offerTimeoutMs,
+                              @Value("${stats.ingestion.backpressure:BLOCK}") BackpressurePolicy backpressure) {
+        this.viewBatchRepository = viewBatchRepository;
+        this.async = async;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.backpressure = backpressure;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!async) return;
+
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "view-ingestion-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("asynchronous view ingestion started: batch size={}, flush interval={} ms, backpressure={}",
+                batchSize, flushIntervalMs, backpressure);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopped = true;
+        if (writer == null) return;
+
+        writer.shutdown();
+        writer.awaitTermination(flushIntervalMs * 10, TimeUnit.MILLISECONDS);
+        flush();
+        log.info("asynchronous view ingestion stopped, views dropped in total={}", dropped.get());
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void submit(View view) {
+        if (stopped) {
+            if (!write(List.of(view))) drop(List.of(view));
+            return;
+        }
+
+        if (!offer(view)) {
+            switch (backpressure) {
+                case DROP:
+                    log.warn("the view ingestion queue is full, the view uri={} was dropped, dropped in total={}",
+                            view.getUri(), dropped.incrementAndGet());
+                    return;
+                case BLOCK:
+                case CALLER_RUNS:
+                    log.debug("the view ingestion queue is full, the view uri={} is written synchronously",
+                            view.getUri());
+                    if (!write(List.of(view))) drop(List.of(view));
+                    return;
+            }
+        }
+
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false);
+                log.debug("the flush of views was not scheduled as the ingestion is stopping");
+            }
+        }
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public int getPending() {
+        return queue.size();
+    }
+
+    void flush() {
+        flushRequested.set(false);
+
+        List<View> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            if (!write(batch)) {
+                requeue(batch);
+                return;
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * Puts a batch that could not be written back to the queue to retry it with the next flush, so a single failure
+     * doesn't lose it. Only the views that don't fit and the batch of the final flush are dropped.
+     */
+    private void requeue(List<View> batch) {
+        List<View> rejected = stopped ? batch : batch.stream()
+                .filter(view -> !queue.offer(view))
+                .collect(Collectors.toList());
+
+        if (!rejected.isEmpty()) drop(rejected);
+    }
+
+    private void drop(List<View> views) {
+        log.warn("{} views were dropped, dropped in total={}", views.size(), dropped.addAndGet(views.size()));
+    }
+
+    private boolean offer(View view) {
+        if (backpressure != BackpressurePolicy.BLOCK) return queue.offer(view);
+
+        try {
+            return queue.offer(view, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean write(List<View> views) {
+        try {
+            viewBatchRepository.saveAll(views);
+            log.debug("a batch of {} views has been written", views.size());
+            return true;
+        } catch (DataAccessException e) {
+            log.error("a batch of {} views could not be written: {}", views.size(), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.ewm.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.practicum.ewm.repo.ViewPartitionRepository;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@Slf4j
+public class ViewPartitionService {
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("views_(\\d{4})_(\\d{2})");
+    private final ViewPartitionRepository viewPartitionRepository;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final RetentionAction retentionAction;
+
+    public ViewPartitionService(ViewPartitionRepository viewPartitionRepository,
+                                @Value("${stats.partitions.enabled:false}") boolean enabled,
+                                @Value("${stats.partitions.months-ahead:2}") int monthsAhead,
+                                @Value("${stats.partitions.retention-months:0}") int retentionMonths,
+                                @Value("${stats.partitions.retention-action:DROP}") RetentionAction retentionAction) {
+        this.viewPartitionRepository = viewPartitionRepository;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = retentionAction;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${stats.partitions.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        if (!enabled) return;
+
+        if (!viewPartitionRepository.isPostgres()) {
+            log.warn("partitioning of views is only supported on PostgreSQL, partition maintenance skipped");
+            return;
+        }
+        maintainPartitions(LocalDate.now());
+    }
+
+    void maintainPartitions(LocalDate today) {
+        LocalDate currentMonth = today.withDayOfMonth(1);
+        Set<String> partitions = new HashSet<>(viewPartitionRepository.findPartitions());
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate from = currentMonth.plusMonths(i);
+            String name = "views_" + from.format(SUFFIX);
+            if (partitions.contains(name)) continue;
+
+            try {
+                viewPartitionRepository.createPartition(name, from, from.plusMonths(1));
+                log.info("partition {} of views created", name);
+            } catch (DataAccessException e) {
+                log.error("partition {} of views could not be created: {}", name, e.getMessage());
+            }
+        }
+
+        if (retentionMonths <= 0) return;
+
+        LocalDate expiredBefore = currentMonth.minusMonths(retentionMonths);
+        for (String name : partitions) {
+            Matcher matcher = MONTHLY_PARTITION.matcher(name);
+            if (!matcher.matches()) continue;
+
+            LocalDate month = LocalDate.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)), 1);
+            if (!month.isBefore(expiredBefore)) continue;
+
+            if (retentionAction == RetentionAction.DETACH) {
+                viewPartitionRepository.detachPartition(name);
+            } else {
+                viewPartitionRepository.dropPartition(name);
+            }
+            log.info("expired partition {} of views: {}", name, retentionAction);
+        }
+
+        int expiredRows = retentionAction == RetentionAction.DETACH
+                ? viewPartitionRepository.moveOutOfDefaultPartition(expiredBefore)
+                : viewPartitionRepository.deleteFromDefaultPartition(expiredBefore);
+        if (expiredRows > 0)
+            log.info("{} views older than {} expired from the default partition: {}", expiredRows, expiredBefore,
+                    retentionAction);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.ewm.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.model.ViewWithHits;
+import ru.practicum.ewm.repo.ViewRollupRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@Slf4j
+public class ViewRollupService {
+    private final ViewRollupRepository viewRollupRepository;
+    private final boolean enabled;
+    private final long maxViewsPerRun;
+
+    public ViewRollupService(ViewRollupRepository viewRollupRepository,
+                             @Value("${stats.rollup.enabled:false}") boolean enabled,
+                             @Value("${stats.rollup.max-views-per-run:100000}") long maxViewsPerRun) {
+        this.viewRollupRepository = viewRollupRepository;
+        this.enabled = enabled;
+        this.maxViewsPerRun = maxViewsPerRun;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${stats.rollup.compaction-interval-ms:60000}")
+    @Transactional
+    public void compact() {
+        if (!enabled) return;
+
+        long compacted = viewRollupRepository.compact(maxViewsPerRun);
+        log.debug("{} views compacted into hourly rollups", compacted);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ViewWithHits> getViewWithHits(LocalDateTime start, LocalDateTime end, Collection<String> uris) {
+        return viewRollupRepository.getViewWithHits(start, end, uris);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ViewWithHits> getApproximateUniqueHits(LocalDateTime start, LocalDateTime end,
+                                                       Collection<String> uris) {
+        return viewRollupRepository.getApproximateUniqueHits(start, end, uris);
+    }
+}
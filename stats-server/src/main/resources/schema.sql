@@ -1,10 +1,38 @@
 DROP TABLE IF EXISTS views CASCADE;
 
 CREATE TABLE views (
-    view_id INT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    view_id BIGSERIAL NOT NULL,
     app VARCHAR NOT NULL,
     uri VARCHAR NOT NULL,
     ip VARCHAR NOT NULL,
     view_date TIMESTAMP NOT NULL,
-    CONSTRAINT pk_views PRIMARY KEY (view_id)
-);
\ No newline at end of file
+    CONSTRAINT pk_views PRIMARY KEY (view_id, view_date)
+) PARTITION BY RANGE (view_date);
+
+CREATE TABLE views_default PARTITION OF views DEFAULT;
+
+CREATE INDEX idx_views_uri_view_date ON views (uri, view_date) INCLUDE (ip, app);
+
+DROP TABLE IF EXISTS view_hourly_rollups CASCADE;
+DROP TABLE IF EXISTS view_hourly_ips CASCADE;
+DROP TABLE IF EXISTS view_rollup_state CASCADE;
+
+CREATE TABLE view_hourly_rollups (
+    rollup_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app VARCHAR NOT NULL,
+    uri VARCHAR NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    hits BIGINT NOT NULL,
+    ip_sketch BYTEA,
+    CONSTRAINT pk_view_hourly_rollups PRIMARY KEY (rollup_id),
+    CONSTRAINT uq_view_hourly_rollups UNIQUE (uri, app, bucket_start)
+);
+
+CREATE TABLE view_rollup_state (
+    state_id INT NOT NULL,
+    rolled_up_to BIGINT NOT NULL,
+    observed_max BIGINT NOT NULL,
+    CONSTRAINT pk_view_rollup_state PRIMARY KEY (state_id)
+);
+
+INSERT INTO view_rollup_state (state_id, rolled_up_to, observed_max) VALUES (1, 0, 0);
@@ -16,11 +16,14 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.ewm.model.dto.ViewInDto;
 import ru.practicum.ewm.model.dto.ViewOutDto;
+import ru.practicum.ewm.model.dto.ViewQueryInDto;
+import ru.practicum.ewm.model.dto.ViewQueryOutDto;
 import ru.practicum.ewm.service.StatService;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -72,11 +75,50 @@ class StatControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void addViewsStatusIsOk() throws Exception {
+        mockMvc.perform(post("/hits")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(view, view, view))))
+                .andExpect(status().isOk());
+
+        Mockito.verify(statService, Mockito.times(1))
+                .saveViews(Mockito.argThat(views -> views.size() == 3));
+    }
+
+    @Test
+    void addViewsAsNdjsonStatusIsOk() throws Exception {
+        String ndjson = mapper.writeValueAsString(view) + "\n" + mapper.writeValueAsString(view) + "\n";
+
+        mockMvc.perform(post("/hits")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk());
+
+        Mockito.verify(statService, Mockito.times(1))
+                .saveViews(Mockito.argThat(views -> views.size() == 2
+                        && views.get(0).getUri().equals("http://localhost:8080/events/1")));
+    }
+
+    @Test
+    void addViewsAsNdjsonIfBodyIsBrokenThenStatusIsBadRequest() throws Exception {
+        mockMvc.perform(post("/hits")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType("application/x-ndjson")
+                        .content("{\"app\": \"ewm-main-server\", \"uri\": "))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(statService, Mockito.never())
+                .saveViews(Mockito.anyList());
+    }
+
     @Test
     void getStatsStatusIsOk() throws Exception {
         String[] uris = {"http://localhost:8080/events/1"};
         Mockito
-                .when(statService.getStats(null, null, uris, true))
+                .when(statService.getStats(null, null, uris, true, false))
                 .thenReturn(List.of(viewOut));
 
         mockMvc.perform(get("/stats?uris=http://localhost:8080/events/1&unique=true")
@@ -88,4 +130,40 @@ class StatControllerTest {
                         .value("http://localhost:8080/events/1"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].hits").value(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getStatsIfApproximateStatusIsOk() throws Exception {
+        String[] uris = {"http://localhost:8080/events/1"};
+        Mockito
+                .when(statService.getStats(null, null, uris, true, true))
+                .thenReturn(List.of(viewOut));
+
+        mockMvc.perform(get("/stats?uris=http://localhost:8080/events/1&unique=true&approximate=true")
+                        .header("X-Ewm-Server-App", "ewm-main-server"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].hits").value(1));
+    }
+
+    @Test
+    void queryStatsStatusIsOk() throws Exception {
+        ViewQueryInDto query = ViewQueryInDto.builder()
+                .app("ewm-main-service")
+                .uriPrefix("http://localhost:8080/events/")
+                .ids(List.of(1L, 2L))
+                .unique(true)
+                .build();
+
+        Mockito
+                .when(statService.queryStats(query))
+                .thenReturn(new ViewQueryOutDto(Map.of(1L, 7L), Map.of()));
+
+        mockMvc.perform(post("/stats/query")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(query)))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.ids.1").value(7))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.uris").isEmpty());
+    }
+}
@@ -6,23 +6,34 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import ru.practicum.ewm.model.View;
 import ru.practicum.ewm.model.ViewWithHits;
+import ru.practicum.ewm.util.SqlCapture;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
-@DataJpaTest
+@DataJpaTest(properties = SqlCapture.PROPERTY)
+@Import(ViewBatchRepository.class)
 class StatRepositoryTest {
     @Autowired
     private TestEntityManager em;
     @Autowired
     private StatRepository statRepository;
+    @Autowired
+    private ViewBatchRepository viewBatchRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @Test
     void save() {
@@ -46,6 +57,21 @@ class StatRepositoryTest {
         assertThat(addedView.getTimestamp(), equalTo(timestamp));
     }
 
+    @Test
+    void saveAllInBatch() {
+        List<View> views = LongStream.range(0, 25)
+                .mapToObj(iteration -> createAnotherView())
+                .collect(Collectors.toList());
+
+        viewBatchRepository.saveAll(views);
+
+        List<ViewWithHits> saved = statRepository.getViewWithHits(null, null,
+                "http://localhost:8080/events/10", false);
+
+        assertThat(saved.size(), equalTo(1));
+        assertThat(saved.get(0).getHits(), equalTo(25L));
+    }
+
     @ParameterizedTest
     @CsvSource({"1, 15", "5, 20", "50, 100"})
     void getHitsByTime(long fitsTheTime, long totalViews) {
@@ -101,6 +127,48 @@ class StatRepositoryTest {
         assertThat(viewsUniqueFalse.get(0).getHits(), equalTo(totalViews));
     }
 
+    @ParameterizedTest
+    @CsvSource({"3, 10", "7, 25"})
+    void getHitsBySeveralUris(long uriCount, long viewsPerUri) {
+        List<String> uris = LongStream.rangeClosed(1, uriCount)
+                .mapToObj(id -> "http://localhost:8080/events/" + id)
+                .collect(Collectors.toList());
+
+        uris.forEach(uri -> LongStream.range(0, viewsPerUri)
+                .forEach(iteration -> {
+                    View view = createAnotherView();
+                    view.setUri(uri);
+                    view.setIp("0.0.0.0.0.155." + iteration % 2);
+                    em.persist(view);
+                }));
+
+        List<ViewWithHits> views = statRepository.getViewWithHits(null, null, uris, false);
+
+        assertThat(views.size(), equalTo((int) uriCount));
+        views.forEach(view -> assertThat(view.getHits(), equalTo(viewsPerUri)));
+        assertThat(views.stream().map(ViewWithHits::getUri).collect(Collectors.toSet()),
+                equalTo(Set.copyOf(uris)));
+
+        List<ViewWithHits> uniqueViews = statRepository.getViewWithHits(null, null, uris, true);
+
+        assertThat(uniqueViews.size(), equalTo((int) uriCount));
+        uniqueViews.forEach(view -> assertThat(view.getHits(), equalTo(2L)));
+    }
+
+    @Test
+    void getViewWithHitsUsesUriViewDateIndex() {
+        LocalDateTime start = LocalDateTime.of(2022, 9, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2022, 9, 10, 0, 0);
+        SqlCapture.clear();
+
+        statRepository.getViewWithHits(start, end, List.of("http://localhost:8080/events/1",
+                "http://localhost:8080/events/2"), true);
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + SqlCapture.single(), String.class,
+                "http://localhost:8080/events/1", "http://localhost:8080/events/2", start, end);
+        assertThat(plan, containsString("/* PUBLIC.IDX_VIEWS_URI_VIEW_DATE: "));
+    }
+
     private View createAnotherView() {
         return View.builder()
                 .app("ewm-main-server")
@@ -0,0 +1,87 @@
+package ru.practicum.ewm.repo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+
+@ExtendWith(MockitoExtension.class)
+class ViewPartitionRepositoryTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @InjectMocks
+    private ViewPartitionRepository viewPartitionRepository;
+
+    @Test
+    void schemaPartitionsViewsByViewDateWithDefaultPartition() throws IOException {
+        List<String> statements = readSchema();
+
+        assertThat(statements, hasItem("CREATE TABLE views ( view_id BIGSERIAL NOT NULL, app VARCHAR NOT NULL, " +
+                "uri VARCHAR NOT NULL, ip VARCHAR NOT NULL, view_date TIMESTAMP NOT NULL, " +
+                "CONSTRAINT pk_views PRIMARY KEY (view_id, view_date) ) PARTITION BY RANGE (view_date)"));
+        assertThat(statements, hasItem("CREATE TABLE views_default PARTITION OF views DEFAULT"));
+        assertThat(statements, hasItem("CREATE INDEX idx_views_uri_view_date ON views (uri, view_date) " +
+                "INCLUDE (ip, app)"));
+    }
+
+    @Test
+    void createPartitionMovesRowsOutOfDefaultPartitionBeforeAttaching() {
+        viewPartitionRepository.createPartition("views_2022_10", LocalDate.of(2022, 10, 1),
+                LocalDate.of(2022, 11, 1));
+
+        ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(jdbcTemplate, Mockito.times(2)).execute(ddl.capture());
+        assertThat(ddl.getAllValues(), equalTo(List.of(
+                "CREATE TABLE views_2022_10 (LIKE views INCLUDING DEFAULTS INCLUDING CONSTRAINTS)",
+                "ALTER TABLE views ATTACH PARTITION views_2022_10 FOR VALUES FROM ('2022-10-01') TO ('2022-11-01')")));
+        Mockito.verify(jdbcTemplate).update("WITH moved AS (DELETE FROM views_default WHERE view_date >= ? " +
+                        "AND view_date < ? RETURNING *) INSERT INTO views_2022_10 SELECT * FROM moved",
+                Timestamp.valueOf("2022-10-01 00:00:00"), Timestamp.valueOf("2022-11-01 00:00:00"));
+    }
+
+    @Test
+    void deleteFromDefaultPartitionRemovesRowsBeforeCutoff() {
+        viewPartitionRepository.deleteFromDefaultPartition(LocalDate.of(2022, 6, 1));
+
+        Mockito.verify(jdbcTemplate).update("DELETE FROM views_default WHERE view_date < ?",
+                Timestamp.valueOf("2022-06-01 00:00:00"));
+    }
+
+    @Test
+    void moveOutOfDefaultPartitionKeepsRowsBeforeCutoffInSeparateTable() {
+        viewPartitionRepository.moveOutOfDefaultPartition(LocalDate.of(2022, 6, 1));
+
+        Mockito.verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS views_default_expired (LIKE views " +
+                "INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        Mockito.verify(jdbcTemplate).update("WITH moved AS (DELETE FROM views_default WHERE view_date < ? " +
+                        "RETURNING *) INSERT INTO views_default_expired SELECT * FROM moved",
+                Timestamp.valueOf("2022-06-01 00:00:00"));
+    }
+
+    private List<String> readSchema() throws IOException {
+        String schema = new String(new ClassPathResource("schema.sql").getInputStream().readAllBytes(),
+                StandardCharsets.UTF_8);
+
+        return Arrays.stream(schema.split(";"))
+                .map(statement -> statement.replaceAll("\\s+", " ").trim())
+                .filter(statement -> !statement.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,187 @@
+package ru.practicum.ewm.repo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import ru.practicum.ewm.model.View;
+import ru.practicum.ewm.model.ViewWithHits;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+
+@DataJpaTest
+@Import(ViewRollupRepository.class)
+class ViewRollupRepositoryTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2022, 9, 10, 12, 30, 15);
+    private static final List<String> URIS = List.of("http://localhost:8080/events/1",
+            "http://localhost:8080/events/2", "http://localhost:8080/events/3");
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private StatRepository statRepository;
+    @Autowired
+    private ViewRollupRepository viewRollupRepository;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+
+    @BeforeEach
+    void setUp() {
+        addViews(300);
+        viewRollupRepository.compact(Long.MAX_VALUE);
+        viewRollupRepository.compact(Long.MAX_VALUE);
+        addViews(40);
+    }
+
+    @Test
+    void compactRollsUpOnlyViewsObservedByPreviousRun() {
+        long rolledUpTo = viewRollupRepository.getRolledUpTo();
+
+        assertThat(statRepository.count() - 40, equalTo(countViewsUpTo(rolledUpTo)));
+        assertThat(viewRollupRepository.compact(Long.MAX_VALUE), equalTo(0L));
+        assertThat(viewRollupRepository.compact(Long.MAX_VALUE), equalTo(40L));
+    }
+
+    @Test
+    void compactLoadsExistingSketchesInOneQuery() {
+        NamedParameterJdbcTemplate template = Mockito.spy(jdbcTemplate);
+        ViewRollupRepository compacting = new ViewRollupRepository(template);
+
+        compacting.compact(Long.MAX_VALUE);
+        assertThat(compacting.compact(Long.MAX_VALUE), equalTo(40L));
+
+        Mockito.verify(template, Mockito.times(1)).query(Mockito.contains("FROM view_hourly_rollups r"),
+                Mockito.any(SqlParameterSource.class), Mockito.any(RowCallbackHandler.class));
+        assertMatchesRaw(null, null);
+        assertMatchesRaw(NOW.minusHours(20), NOW);
+
+        Map<String, Long> approximate = toMap(viewRollupRepository.getApproximateUniqueHits(null, null, URIS));
+        toMap(statRepository.getViewWithHits(null, null, URIS, true))
+                .forEach((key, hits) -> assertThat((double) approximate.get(key), closeTo(hits, 1)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"-30, 0", "-30, 5", "-1, 1", "-5, -4", "0, 0", "-45, -44", "-20, -2"})
+    void getHitsMatchesRawViews(int startHours, int endHours) {
+        LocalDateTime start = NOW.plusHours(startHours).plusMinutes(startHours * 7L % 60);
+        LocalDateTime end = NOW.plusHours(endHours);
+
+        assertMatchesRaw(start, end);
+        assertMatchesRaw(null, end);
+        assertMatchesRaw(start, null);
+        assertMatchesRaw(null, null);
+    }
+
+    @Test
+    void getHitsOnHourBoundaries() {
+        LocalDateTime hour = NOW.withMinute(0).withSecond(0);
+
+        assertMatchesRaw(hour.minusHours(10), hour);
+        assertMatchesRaw(hour.minusHours(10), hour.plusHours(1));
+        assertMatchesRaw(hour.minusHours(1), hour);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"-30, 0", "-1, 1", "-20, -2"})
+    void getApproximateUniqueHitsIsCloseToRawViews(int startHours, int endHours) {
+        LocalDateTime start = NOW.plusHours(startHours).plusMinutes(startHours * 7L % 60);
+        LocalDateTime end = NOW.plusHours(endHours);
+
+        Map<String, Long> approximate = toMap(viewRollupRepository.getApproximateUniqueHits(start, end, URIS));
+        Map<String, Long> exact = toMap(statRepository.getViewWithHits(start, end, URIS, true));
+
+        assertThat(approximate.keySet(), equalTo(exact.keySet()));
+        exact.forEach((key, hits) -> assertThat((double) approximate.get(key), closeTo(hits, 1)));
+    }
+
+    @Test
+    void getHitsIfCompactedBeforeAggregateReadThenCountRolledUpViewsOnce() {
+        NamedParameterJdbcTemplate template = Mockito.spy(jdbcTemplate);
+        ViewRollupRepository reader = new ViewRollupRepository(template);
+        AtomicBoolean compacted = new AtomicBoolean();
+        long rolledUpTo = viewRollupRepository.getRolledUpTo();
+        Mockito.doAnswer(invocation -> {
+            if (!compacted.getAndSet(true)) {
+                viewRollupRepository.compact(Long.MAX_VALUE);
+                viewRollupRepository.compact(Long.MAX_VALUE);
+            }
+            return invocation.callRealMethod();
+        }).when(template).query(Mockito.contains("UNION ALL"), Mockito.any(SqlParameterSource.class),
+                Mockito.<RowMapper<ViewWithHits>>any());
+
+        assertThat(toMap(reader.getViewWithHits(null, null, URIS)),
+                equalTo(toMap(statRepository.getViewWithHits(null, null, URIS, false))));
+        assertThat(countViewsUpTo(viewRollupRepository.getRolledUpTo()) - countViewsUpTo(rolledUpTo), equalTo(40L));
+    }
+
+    @Test
+    void getApproximateUniqueHitsIfCompactedBeforeAggregateReadThenStayCloseToRawViews() {
+        NamedParameterJdbcTemplate template = Mockito.spy(jdbcTemplate);
+        ViewRollupRepository reader = new ViewRollupRepository(template);
+        Mockito.doAnswer(invocation -> {
+            viewRollupRepository.compact(Long.MAX_VALUE);
+            viewRollupRepository.compact(Long.MAX_VALUE);
+            return invocation.callRealMethod();
+        }).when(template).query(Mockito.contains("UNION ALL"), Mockito.any(SqlParameterSource.class),
+                Mockito.any(RowCallbackHandler.class));
+
+        Map<String, Long> approximate = toMap(reader.getApproximateUniqueHits(null, null, URIS));
+        Map<String, Long> exact = toMap(statRepository.getViewWithHits(null, null, URIS, true));
+
+        assertThat(approximate.keySet(), equalTo(exact.keySet()));
+        exact.forEach((key, hits) -> assertThat((double) approximate.get(key), closeTo(hits, 1)));
+        Mockito.verify(template).query(Mockito.anyString(), Mockito.any(SqlParameterSource.class),
+                Mockito.any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void getHitsIfUrisIsEmptyThenReturnEmptyList() {
+        assertThat(viewRollupRepository.getViewWithHits(null, null, List.of()).isEmpty(), equalTo(true));
+    }
+
+    private void assertMatchesRaw(LocalDateTime start, LocalDateTime end) {
+        assertThat(toMap(viewRollupRepository.getViewWithHits(start, end, URIS)),
+                equalTo(toMap(statRepository.getViewWithHits(start, end, URIS, false))));
+    }
+
+    private Map<String, Long> toMap(List<ViewWithHits> views) {
+        return views.stream()
+                .collect(Collectors.toMap(view -> view.getApp() + view.getUri(), ViewWithHits::getHits));
+    }
+
+    private long countViewsUpTo(long viewId) {
+        return statRepository.findAll().stream()
+                .filter(view -> view.getId() <= viewId)
+                .count();
+    }
+
+    private void addViews(int count) {
+        IntStream.range(0, count)
+                .forEach(iteration -> em.persist(View.builder()
+                        .app(random.nextInt(4) == 0 ? "ewm-other-service" : "ewm-main-service")
+                        .uri(URIS.get(random.nextInt(URIS.size())))
+                        .ip("192.168.0." + random.nextInt(12))
+                        .timestamp(NOW.minusMinutes(random.nextInt(48 * 60)).withSecond(random.nextInt(60)))
+                        .build()));
+        em.flush();
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.ewm.service;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,15 +8,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.ewm.exception.InvalidViewQueryException;
 import ru.practicum.ewm.model.View;
 import ru.practicum.ewm.model.ViewWithHits;
 import ru.practicum.ewm.model.dto.ViewInDto;
 import ru.practicum.ewm.model.dto.ViewOutDto;
+import ru.practicum.ewm.model.dto.ViewQueryInDto;
+import ru.practicum.ewm.model.dto.ViewQueryOutDto;
 import ru.practicum.ewm.repo.StatRepository;
+import ru.practicum.ewm.repo.ViewBatchRepository;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -28,6 +35,12 @@ class StatServiceImplTest {
     private StatServiceImpl statService;
     @Mock
     private StatRepository statRepository;
+    @Mock
+    private ViewIngestionQueue viewIngestionQueue;
+    @Mock
+    private ViewBatchRepository viewBatchRepository;
+    @Mock
+    private ViewRollupService viewRollupService;
     private static ViewInDto viewIn;
     private static View view;
     private static View returned;
@@ -82,15 +95,48 @@ class StatServiceImplTest {
                 .save(view);
     }
 
+    @Test
+    void whenSaveViewIfIngestionIsAsyncThenSubmitToQueue() {
+        Mockito.when(viewIngestionQueue.isAsync())
+                .thenReturn(true);
+
+        statService.saveView(viewIn);
+
+        Mockito.verify(viewIngestionQueue, Mockito.times(1))
+                .submit(view);
+
+        Mockito.verify(statRepository, Mockito.never())
+                .save(Mockito.any(View.class));
+    }
+
+    @Test
+    void whenSaveViewsThenCallSaveAllBatchRepository() {
+        statService.saveViews(List.of(viewIn, viewIn));
+
+        Mockito.verify(viewBatchRepository, Mockito.times(1))
+                .saveAll(List.of(view, view));
+
+        Mockito.verify(statRepository, Mockito.never())
+                .save(Mockito.any(View.class));
+    }
+
+    @Test
+    void whenSaveViewsIfListIsEmptyThenNeverCallBatchRepository() {
+        statService.saveViews(List.of());
+
+        Mockito.verify(viewBatchRepository, Mockito.never())
+                .saveAll(Mockito.anyList());
+    }
+
     @Test
     void whenGetStatsThenCallGetViewWithHitsRepository() {
         String[] uris = {"http://localhost:8080/events/1"};
 
         Mockito.when(statRepository.getViewWithHits(Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class),
-                        Mockito.anyString(), Mockito.anyBoolean()))
+                        Mockito.anyCollection(), Mockito.anyBoolean()))
                 .thenReturn(List.of(viewWithHits));
 
-        List<ViewOutDto> returned = statService.getStats(start, end, uris, false);
+        List<ViewOutDto> returned = statService.getStats(start, end, uris, false, false);
 
         assertThat(returned.size(), equalTo(1));
         assertThat(returned.get(0).getApp(), equalTo("ewm-main-server"));
@@ -99,17 +145,147 @@ class StatServiceImplTest {
 
         Mockito.verify(statRepository, Mockito.times(1))
                 .getViewWithHits(Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class),
-                        Mockito.anyString(), Mockito.anyBoolean());
+                        Mockito.anyCollection(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void whenGetStatsWithSeveralUrisThenCallGetViewWithHitsRepositoryOnce() {
+        String[] uris = {"http://localhost:8080/events/1", "http://localhost:8080/events/2",
+                "http://localhost:8080/events/1"};
+
+        Mockito.when(statRepository.getViewWithHits(Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class),
+                        Mockito.anyCollection(), Mockito.anyBoolean()))
+                .thenReturn(List.of(viewWithHits));
+
+        statService.getStats(start, end, uris, true, false);
+
+        Mockito.verify(statRepository, Mockito.times(1))
+                .getViewWithHits(Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class),
+                        Mockito.eq(Set.of("http://localhost:8080/events/1", "http://localhost:8080/events/2")),
+                        Mockito.eq(true));
+    }
+
+    @Test
+    void whenGetStatsIfRollupIsEnabledThenCallGetViewWithHitsRollupService() {
+        String[] uris = {"http://localhost:8080/events/1"};
+
+        Mockito.when(viewRollupService.isEnabled())
+                .thenReturn(true);
+
+        Mockito.when(viewRollupService.getViewWithHits(Mockito.any(LocalDateTime.class),
+                        Mockito.any(LocalDateTime.class), Mockito.anyCollection()))
+                .thenReturn(List.of(viewWithHits));
+
+        List<ViewOutDto> returned = statService.getStats(start, end, uris, false, false);
+
+        assertThat(returned.size(), equalTo(1));
+        assertThat(returned.get(0).getHits(), equalTo(11L));
+
+        Mockito.verify(statRepository, Mockito.never())
+                .getViewWithHits(Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class),
+                        Mockito.anyCollection(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void whenGetStatsIfApproximateThenCallGetApproximateUniqueHitsRollupService() {
+        String[] uris = {"http://localhost:8080/events/1"};
+
+        Mockito.when(viewRollupService.isEnabled())
+                .thenReturn(true);
+
+        Mockito.when(viewRollupService.getApproximateUniqueHits(Mockito.any(LocalDateTime.class),
+                        Mockito.any(LocalDateTime.class), Mockito.anyCollection()))
+                .thenReturn(List.of(viewWithHits));
+
+        List<ViewOutDto> returned = statService.getStats(start, end, uris, true, true);
+
+        assertThat(returned.size(), equalTo(1));
+        assertThat(returned.get(0).getHits(), equalTo(11L));
+
+        Mockito.verify(viewRollupService, Mockito.never())
+                .getViewWithHits(Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class),
+                        Mockito.anyCollection());
+    }
+
+    @Test
+    void whenGetStatsIfUniqueAndNotApproximateThenCallGetViewWithHitsRepository() {
+        String[] uris = {"http://localhost:8080/events/1"};
+
+        Mockito.when(viewRollupService.isEnabled())
+                .thenReturn(true);
+
+        Mockito.when(statRepository.getViewWithHits(Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class),
+                        Mockito.anyCollection(), Mockito.eq(true)))
+                .thenReturn(List.of(viewWithHits));
+
+        List<ViewOutDto> returned = statService.getStats(start, end, uris, true, false);
+
+        assertThat(returned.size(), equalTo(1));
+        assertThat(returned.get(0).getHits(), equalTo(11L));
+
+        Mockito.verify(viewRollupService, Mockito.never())
+                .getViewWithHits(Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class),
+                        Mockito.anyCollection());
+        Mockito.verify(viewRollupService, Mockito.never())
+                .getApproximateUniqueHits(Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class),
+                        Mockito.anyCollection());
     }
 
     @Test
     void whenGetStatsIfUrisIsAbsentThenReturnEmptyList() {
-        List<ViewOutDto> returned = statService.getStats(start, end, null, false);
+        List<ViewOutDto> returned = statService.getStats(start, end, null, false, false);
 
         assertTrue(returned.isEmpty());
 
         Mockito.verify(statRepository, Mockito.never())
                 .getViewWithHits(Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class),
-                        Mockito.anyString(), Mockito.anyBoolean());
+                        Mockito.anyCollection(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void whenQueryStatsByIdsThenReturnHitsKeyedById() {
+        ViewQueryInDto query = ViewQueryInDto.builder()
+                .app("ewm-main-server")
+                .uriPrefix("http://localhost:8080/events/")
+                .ids(List.of(1L, 2L))
+                .uris(List.of("http://localhost:8080/events/1"))
+                .unique(true)
+                .build();
+
+        Mockito.when(statRepository.getViewWithHits(null, null,
+                        Set.of("http://localhost:8080/events/1", "http://localhost:8080/events/2"), true))
+                .thenReturn(List.of(viewWithHits, ViewWithHits.builder()
+                        .app("another-app")
+                        .uri("http://localhost:8080/events/2")
+                        .hits(5L)
+                        .build()));
+
+        ViewQueryOutDto returned = statService.queryStats(query);
+
+        assertThat(returned.getIds(), equalTo(Map.of(1L, 11L)));
+        assertThat(returned.getUris(), equalTo(Map.of("http://localhost:8080/events/1", 11L)));
+    }
+
+    @Test
+    void whenQueryStatsIfIdsWithoutUriPrefixThenThrowsInvalidViewQueryException() {
+        ViewQueryInDto query = ViewQueryInDto.builder()
+                .ids(List.of(1L))
+                .build();
+
+        final InvalidViewQueryException exception = Assertions.assertThrows(
+                InvalidViewQueryException.class,
+                () -> statService.queryStats(query));
+
+        Assertions.assertEquals("uriPrefix is required when ids are passed", exception.getMessage());
+    }
+
+    @Test
+    void whenQueryStatsIfNothingRequestedThenNeverCallRepository() {
+        ViewQueryOutDto returned = statService.queryStats(new ViewQueryInDto());
+
+        assertTrue(returned.getIds().isEmpty());
+
+        Mockito.verify(statRepository, Mockito.never())
+                .getViewWithHits(Mockito.any(), Mockito.any(), Mockito.anyCollection(), Mockito.anyBoolean());
     }
-}
\ No newline at end of file
+}
@@ -15,6 +15,7 @@ import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.equalTo;
@@ -56,6 +57,26 @@ class StatServiceTest {
         assertThat(view, notNullValue());
     }
 
+    @ParameterizedTest
+    @CsvSource({"ewm-main-server, http://localhost:8080/events/3, 1", "ewm-main-server, http://localhost:8080/events/4, 700"})
+    void saveViews(String app, String uri, long hits) {
+        List<ViewInDto> viewsIn = LongStream.range(0, hits)
+                .mapToObj(iteration -> ViewInDto.builder()
+                        .app(app)
+                        .uri(uri)
+                        .ip("0.0.0.0.0." + iteration)
+                        .timestamp(LocalDateTime.now())
+                        .build())
+                .collect(Collectors.toList());
+
+        statService.saveViews(viewsIn);
+
+        List<ViewOutDto> found = statService.getStats(null, null, new String[] {uri}, false, false);
+
+        assertThat(found.size(), equalTo(1));
+        assertThat(found.get(0).getHits(), equalTo(hits));
+    }
+
     @ParameterizedTest
     @CsvSource({"ewm-main-server, http://localhost:8080/events/2, 0.0.0.0.1.1, 1",
             "ewm-another-server, http://localhost:7070/another/15, 0.0.0.0.0.9, 5",
@@ -71,7 +92,7 @@ class StatServiceTest {
         LongStream.range(0, hits).forEach(iteration -> statService.saveView(viewIn));
 
         String[] uris = {uri};
-        List<ViewOutDto> found = statService.getStats(null, null, uris, false);
+        List<ViewOutDto> found = statService.getStats(null, null, uris, false, false);
 
         TypedQuery<View> query = em.createQuery("Select v from View v where v.app = :app and v.uri = :uri",
                 View.class);
@@ -101,7 +122,7 @@ class StatServiceTest {
         LongStream.range(0, hits).forEach(iteration -> statService.saveView(viewIn));
 
         String[] uris = {uri};
-        List<ViewOutDto> found = statService.getStats(null, null, uris, true);
+        List<ViewOutDto> found = statService.getStats(null, null, uris, true, false);
 
         TypedQuery<View> query = em.createQuery("Select v from View v where v.app = :app and v.uri = :uri",
                 View.class);
@@ -0,0 +1,150 @@
+package ru.practicum.ewm.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import ru.practicum.ewm.model.View;
+import ru.practicum.ewm.repo.ViewBatchRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@ExtendWith(MockitoExtension.class)
+class ViewIngestionQueueTest {
+    @Mock
+    private ViewBatchRepository viewBatchRepository;
+    private ViewIngestionQueue viewIngestionQueue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        viewIngestionQueue.stop();
+    }
+
+    @Test
+    void whenQueueReachesBatchSizeThenWriteBatch() {
+        viewIngestionQueue = new ViewIngestionQueue(viewBatchRepository, true, 100, 10,
+                60_000, 50, BackpressurePolicy.BLOCK);
+        viewIngestionQueue.start();
+
+        IntStream.range(0, 10).forEach(iteration -> viewIngestionQueue.submit(createView(iteration)));
+
+        ArgumentCaptor<List<View>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(viewBatchRepository, Mockito.timeout(5_000).times(1))
+                .saveAll(captor.capture());
+
+        assertThat(captor.getValue().size(), equalTo(10));
+        assertThat(viewIngestionQueue.getPending(), equalTo(0));
+    }
+
+    @Test
+    void whenFlushIntervalElapsedThenWritePartialBatch() {
+        viewIngestionQueue = new ViewIngestionQueue(viewBatchRepository, true, 100, 50,
+                100, 50, BackpressurePolicy.BLOCK);
+        viewIngestionQueue.start();
+
+        IntStream.range(0, 3).forEach(iteration -> viewIngestionQueue.submit(createView(iteration)));
+
+        ArgumentCaptor<List<View>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(viewBatchRepository, Mockito.timeout(5_000).times(1))
+                .saveAll(captor.capture());
+
+        assertThat(captor.getValue().size(), equalTo(3));
+    }
+
+    @Test
+    void whenQueueIsFullAndPolicyIsDropThenDropView() {
+        viewIngestionQueue = new ViewIngestionQueue(viewBatchRepository, true, 2, 10,
+                60_000, 50, BackpressurePolicy.DROP);
+        viewIngestionQueue.start();
+
+        IntStream.range(0, 5).forEach(iteration -> viewIngestionQueue.submit(createView(iteration)));
+
+        assertThat(viewIngestionQueue.getPending(), equalTo(2));
+        assertThat(viewIngestionQueue.getDropped(), equalTo(3L));
+
+        Mockito.verify(viewBatchRepository, Mockito.never())
+                .saveAll(Mockito.anyList());
+    }
+
+    @Test
+    void whenQueueIsFullAndPolicyIsCallerRunsThenWriteSynchronously() {
+        viewIngestionQueue = new ViewIngestionQueue(viewBatchRepository, true, 1, 10,
+                60_000, 50, BackpressurePolicy.CALLER_RUNS);
+        viewIngestionQueue.start();
+
+        viewIngestionQueue.submit(createView(1));
+        viewIngestionQueue.submit(createView(2));
+
+        Mockito.verify(viewBatchRepository, Mockito.times(1))
+                .saveAll(List.of(createView(2)));
+        assertThat(viewIngestionQueue.getPending(), equalTo(1));
+    }
+
+    @Test
+    void whenSubmittedAfterStopThenWriteSynchronously() throws InterruptedException {
+        viewIngestionQueue = new ViewIngestionQueue(viewBatchRepository, true, 100, 1,
+                60_000, 50, BackpressurePolicy.BLOCK);
+        viewIngestionQueue.start();
+        viewIngestionQueue.stop();
+
+        viewIngestionQueue.submit(createView(1));
+
+        Mockito.verify(viewBatchRepository, Mockito.times(1))
+                .saveAll(List.of(createView(1)));
+        assertThat(viewIngestionQueue.getPending(), equalTo(0));
+    }
+
+    @Test
+    void whenWriteFailsThenRetryBatchWithNextFlush() {
+        viewIngestionQueue = new ViewIngestionQueue(viewBatchRepository, true, 100, 10,
+                60_000, 50, BackpressurePolicy.DROP);
+        Mockito.doThrow(new DataAccessResourceFailureException("the database is unavailable"))
+                .doNothing()
+                .when(viewBatchRepository).saveAll(Mockito.anyList());
+
+        IntStream.range(0, 3).forEach(iteration -> viewIngestionQueue.submit(createView(iteration)));
+        viewIngestionQueue.flush();
+
+        assertThat(viewIngestionQueue.getPending(), equalTo(3));
+        assertThat(viewIngestionQueue.getDropped(), equalTo(0L));
+
+        viewIngestionQueue.flush();
+
+        assertThat(viewIngestionQueue.getPending(), equalTo(0));
+        Mockito.verify(viewBatchRepository, Mockito.times(2))
+                .saveAll(List.of(createView(0), createView(1), createView(2)));
+    }
+
+    @Test
+    void whenFinalFlushFailsThenCountDroppedViews() throws InterruptedException {
+        viewIngestionQueue = new ViewIngestionQueue(viewBatchRepository, true, 100, 10,
+                60_000, 50, BackpressurePolicy.BLOCK);
+        viewIngestionQueue.start();
+        Mockito.doThrow(new DataAccessResourceFailureException("the database is unavailable"))
+                .when(viewBatchRepository).saveAll(Mockito.anyList());
+
+        IntStream.range(0, 3).forEach(iteration -> viewIngestionQueue.submit(createView(iteration)));
+        viewIngestionQueue.stop();
+
+        assertThat(viewIngestionQueue.getPending(), equalTo(0));
+        assertThat(viewIngestionQueue.getDropped(), equalTo(3L));
+    }
+
+    private View createView(int iteration) {
+        return View.builder()
+                .app("ewm-main-server")
+                .uri("http://localhost:8080/events/" + iteration)
+                .ip("0.0.0.0.0.1")
+                .timestamp(LocalDateTime.of(2022, 10, 10, 10, 10))
+                .build();
+    }
+}
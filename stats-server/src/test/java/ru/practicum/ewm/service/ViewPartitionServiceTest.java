@@ -0,0 +1,94 @@
+package ru.practicum.ewm.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.ewm.repo.ViewPartitionRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class ViewPartitionServiceTest {
+    private static final LocalDate TODAY = LocalDate.of(2022, 9, 14);
+    @Mock
+    private ViewPartitionRepository viewPartitionRepository;
+
+    @Test
+    void whenMaintainPartitionsThenCreateMissingMonthsAhead() {
+        ViewPartitionService service = new ViewPartitionService(viewPartitionRepository, true, 2, 0,
+                RetentionAction.DROP);
+
+        Mockito.when(viewPartitionRepository.findPartitions())
+                .thenReturn(List.of("views_default", "views_2022_09"));
+
+        service.maintainPartitions(TODAY);
+
+        Mockito.verify(viewPartitionRepository, Mockito.never())
+                .createPartition(Mockito.eq("views_2022_09"), Mockito.any(), Mockito.any());
+        Mockito.verify(viewPartitionRepository, Mockito.times(1))
+                .createPartition("views_2022_10", LocalDate.of(2022, 10, 1), LocalDate.of(2022, 11, 1));
+        Mockito.verify(viewPartitionRepository, Mockito.times(1))
+                .createPartition("views_2022_11", LocalDate.of(2022, 11, 1), LocalDate.of(2022, 12, 1));
+        Mockito.verify(viewPartitionRepository, Mockito.never())
+                .dropPartition(Mockito.anyString());
+        Mockito.verify(viewPartitionRepository, Mockito.never())
+                .deleteFromDefaultPartition(Mockito.any());
+    }
+
+    @Test
+    void whenMaintainPartitionsThenDropExpiredPartitions() {
+        ViewPartitionService service = new ViewPartitionService(viewPartitionRepository, true, 0, 3,
+                RetentionAction.DROP);
+
+        Mockito.when(viewPartitionRepository.findPartitions())
+                .thenReturn(List.of("views_default", "views_2022_05", "views_2022_06", "views_2022_09"));
+
+        service.maintainPartitions(TODAY);
+
+        Mockito.verify(viewPartitionRepository, Mockito.times(1))
+                .dropPartition("views_2022_05");
+        Mockito.verify(viewPartitionRepository, Mockito.never())
+                .dropPartition("views_2022_06");
+        Mockito.verify(viewPartitionRepository, Mockito.never())
+                .dropPartition("views_default");
+        Mockito.verify(viewPartitionRepository, Mockito.times(1))
+                .deleteFromDefaultPartition(LocalDate.of(2022, 6, 1));
+    }
+
+    @Test
+    void whenRetentionActionIsDetachThenDetachExpiredPartitions() {
+        ViewPartitionService service = new ViewPartitionService(viewPartitionRepository, true, 0, 1,
+                RetentionAction.DETACH);
+
+        Mockito.when(viewPartitionRepository.findPartitions())
+                .thenReturn(List.of("views_2021_12", "views_2022_09"));
+
+        service.maintainPartitions(TODAY);
+
+        Mockito.verify(viewPartitionRepository, Mockito.times(1))
+                .detachPartition("views_2021_12");
+        Mockito.verify(viewPartitionRepository, Mockito.never())
+                .dropPartition(Mockito.anyString());
+        Mockito.verify(viewPartitionRepository, Mockito.times(1))
+                .moveOutOfDefaultPartition(LocalDate.of(2022, 8, 1));
+        Mockito.verify(viewPartitionRepository, Mockito.never())
+                .deleteFromDefaultPartition(Mockito.any());
+    }
+
+    @Test
+    void whenDatabaseIsNotPostgresThenSkipMaintenance() {
+        ViewPartitionService service = new ViewPartitionService(viewPartitionRepository, true, 2, 12,
+                RetentionAction.DROP);
+
+        Mockito.when(viewPartitionRepository.isPostgres())
+                .thenReturn(false);
+
+        service.maintainPartitions();
+
+        Mockito.verify(viewPartitionRepository, Mockito.never())
+                .findPartitions();
+    }
+}
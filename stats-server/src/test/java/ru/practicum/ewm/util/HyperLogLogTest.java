@@ -0,0 +1,50 @@
+package ru.practicum.ewm.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+
+class HyperLogLogTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 500, 10_000, 200_000})
+    void estimateIsWithinErrorBound(int distinct) {
+        HyperLogLog sketch = new HyperLogLog();
+        IntStream.range(0, distinct)
+                .forEach(i -> {
+                    sketch.add("10.0." + i);
+                    sketch.add("10.0." + i);
+                });
+
+        assertThat((double) sketch.estimate(), closeTo(distinct, Math.max(1, distinct * 0.05)));
+    }
+
+    @Test
+    void mergeEstimatesUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        IntStream.range(0, 30_000).forEach(i -> first.add("192.168." + i));
+        IntStream.range(20_000, 50_000).forEach(i -> second.add("192.168." + i));
+
+        first.merge(second);
+
+        assertThat((double) first.estimate(), closeTo(50_000, 50_000 * 0.05));
+    }
+
+    @Test
+    void fromBytesRestoresSketch() {
+        HyperLogLog sketch = new HyperLogLog();
+        IntStream.range(0, 1000).forEach(i -> sketch.add("172.16." + i));
+
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+
+        assertThat(restored.estimate(), equalTo(sketch.estimate()));
+        assertThat(HyperLogLog.fromBytes(null).estimate(), equalTo(0L));
+    }
+}